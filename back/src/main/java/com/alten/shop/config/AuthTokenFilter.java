@@ -1,5 +1,8 @@
 package com.alten.shop.config;
 
+import com.alten.shop.service.TokenRevocationService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -13,15 +16,32 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.time.Duration;
 
 public class AuthTokenFilter extends OncePerRequestFilter {
 
+    private static final int MAX_TRACKED_USERS = 10_000;
+
     private final JwtUtils jwtUtils;
     private final UserDetailsService userDetailsService;
+    private final TokenRevocationService tokenRevocationService;
+    // Users whose claims were checked against the database within the interval; an expired or evicted entry
+    // only means the next request revalidates, so the bound costs a lookup, never a sweep on the request path
+    private final Cache<Long, Boolean> recentlyValidated;
+
+    public AuthTokenFilter(JwtUtils jwtUtils, UserDetailsService userDetailsService,
+                           TokenRevocationService tokenRevocationService) {
+        this(jwtUtils, userDetailsService, tokenRevocationService, Duration.ZERO);
+    }
 
-    public AuthTokenFilter(JwtUtils jwtUtils, UserDetailsService userDetailsService) {
+    public AuthTokenFilter(JwtUtils jwtUtils, UserDetailsService userDetailsService,
+                           TokenRevocationService tokenRevocationService, Duration revalidateInterval) {
         this.jwtUtils = jwtUtils;
         this.userDetailsService = userDetailsService;
+        this.tokenRevocationService = tokenRevocationService;
+        this.recentlyValidated = revalidateInterval.isPositive()
+                ? Caffeine.newBuilder().maximumSize(MAX_TRACKED_USERS).expireAfterWrite(revalidateInterval).build()
+                : null;
     }
 
     @Override
@@ -29,15 +49,14 @@ public class AuthTokenFilter extends OncePerRequestFilter {
                                     FilterChain filterChain) throws ServletException, IOException {
         try {
             String jwt = parseJwt(request);
-            if (jwt != null && jwtUtils.validateToken(jwt, userDetailsService.loadUserByUsername(jwtUtils.extractUsername(jwt)))) {
-                String username = jwtUtils.extractUsername(jwt);
-
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+            if (jwt != null) {
+                VerifiedToken token = jwtUtils.verify(jwt);
+                if (!tokenRevocationService.isRevoked(token.tokenId())) {
+                    UserDetails userDetails = resolveUser(token);
+                    if (userDetails != null) {
+                        authenticate(request, userDetails);
+                    }
+                }
             }
         } catch (Exception e) {
             logger.error("Cannot set user authentication: {}", e);
@@ -46,6 +65,34 @@ public class AuthTokenFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private UserDetails resolveUser(VerifiedToken token) {
+        UserPrincipal claimed = UserPrincipal.fromToken(token);
+        if (claimed == null) {
+            // Tokens issued before the principal claims were embedded
+            UserDetails loaded = userDetailsService.loadUserByUsername(token.subject());
+            return jwtUtils.validateToken(token, loaded) ? loaded : null;
+        }
+
+        if (recentlyValidated == null || recentlyValidated.getIfPresent(claimed.getId()) != null) {
+            return claimed;
+        }
+
+        UserDetails loaded = userDetailsService.loadUserByUsername(claimed.getEmail());
+        if (!(loaded instanceof UserPrincipal current) || !claimed.getId().equals(current.getId())) {
+            return null;
+        }
+        recentlyValidated.put(current.getId(), Boolean.TRUE);
+        return current;
+    }
+
+    private void authenticate(HttpServletRequest request, UserDetails userDetails) {
+        UsernamePasswordAuthenticationToken authentication =
+                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+        authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+    }
+
     private String parseJwt(HttpServletRequest request) {
         String headerAuth = request.getHeader("Authorization");
 
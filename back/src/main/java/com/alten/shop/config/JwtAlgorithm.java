@@ -0,0 +1,27 @@
+package com.alten.shop.config;
+
+public enum JwtAlgorithm {
+    HS256("HS256", null),
+    ES256("ES256", "EC"),
+    EDDSA("EdDSA", "Ed25519");
+
+    private final String jwaName;
+    private final String keyFactoryAlgorithm;
+
+    JwtAlgorithm(String jwaName, String keyFactoryAlgorithm) {
+        this.jwaName = jwaName;
+        this.keyFactoryAlgorithm = keyFactoryAlgorithm;
+    }
+
+    public String getJwaName() {
+        return jwaName;
+    }
+
+    public String getKeyFactoryAlgorithm() {
+        return keyFactoryAlgorithm;
+    }
+
+    public boolean isAsymmetric() {
+        return keyFactoryAlgorithm != null;
+    }
+}
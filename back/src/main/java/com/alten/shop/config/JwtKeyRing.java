@@ -0,0 +1,196 @@
+package com.alten.shop.config;
+
+import io.jsonwebtoken.Header;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.ProtectedHeader;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+public class JwtKeyRing {
+
+    public static final String HMAC_KID = "hs256";
+
+    private static final int EC_COORDINATE_BYTES = 32;
+    private static final int ED25519_KEY_BYTES = 32;
+
+    private final Map<String, SigningKey> keys;
+    private final SigningKey active;
+
+    @Autowired
+    public JwtKeyRing(JwtSigningProperties properties, @Value("${app.jwt.secret:}") String jwtSecret) {
+        this(loadKeys(properties, jwtSecret), properties.activeKid());
+    }
+
+    public JwtKeyRing(List<SigningKey> signingKeys, String activeKid) {
+        Map<String, SigningKey> byKid = new LinkedHashMap<>();
+        for (SigningKey key : signingKeys) {
+            if (byKid.putIfAbsent(key.kid(), key) != null) {
+                throw new IllegalStateException("Duplicate JWT key id: " + key.kid());
+            }
+        }
+        this.keys = Collections.unmodifiableMap(byKid);
+
+        String kid = activeKid == null || activeKid.isBlank() ? HMAC_KID : activeKid;
+        SigningKey candidate = keys.get(kid);
+        if (candidate == null || candidate.signingKey() == null) {
+            throw new IllegalStateException("No JWT signing key available for kid '" + kid + "'");
+        }
+        this.active = candidate;
+    }
+
+    public static SigningKey hmac(String secret) {
+        SecretKey key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        return new SigningKey(HMAC_KID, JwtAlgorithm.HS256, key, key);
+    }
+
+    public static SigningKey asymmetric(String kid, JwtAlgorithm algorithm, PrivateKey privateKey, PublicKey publicKey) {
+        if (!algorithm.isAsymmetric()) {
+            throw new IllegalArgumentException(algorithm.getJwaName() + " is not an asymmetric algorithm");
+        }
+        return new SigningKey(kid, algorithm, privateKey, publicKey);
+    }
+
+    public String getActiveKid() {
+        return active.kid();
+    }
+
+    public JwtAlgorithm getActiveAlgorithm() {
+        return active.algorithm();
+    }
+
+    JwtBuilder sign(JwtBuilder unsigned) {
+        JwtBuilder builder = unsigned.header().keyId(active.kid()).and();
+        return switch (active.algorithm()) {
+            case HS256 -> builder.signWith((SecretKey) active.signingKey(), Jwts.SIG.HS256);
+            case ES256 -> builder.signWith((PrivateKey) active.signingKey(), Jwts.SIG.ES256);
+            case EDDSA -> builder.signWith((PrivateKey) active.signingKey(), Jwts.SIG.EdDSA);
+        };
+    }
+
+    Key verificationKey(Header header) {
+        // Tokens issued before key ids were introduced carry no kid and were signed with the shared secret
+        String kid = header instanceof ProtectedHeader protectedHeader && protectedHeader.getKeyId() != null
+                ? protectedHeader.getKeyId()
+                : HMAC_KID;
+        SigningKey key = keys.get(kid);
+        if (key == null) {
+            throw new UnsupportedJwtException("Unknown JWT key id: " + kid);
+        }
+        if (!key.algorithm().getJwaName().equals(header.getAlgorithm())) {
+            throw new UnsupportedJwtException("Algorithm " + header.getAlgorithm() + " is not allowed for key " + kid);
+        }
+        return key.verificationKey();
+    }
+
+    public List<Map<String, Object>> publicJwks() {
+        List<Map<String, Object>> jwks = new ArrayList<>();
+        for (SigningKey key : keys.values()) {
+            if (key.algorithm().isAsymmetric()) {
+                jwks.add(toJwk(key));
+            }
+        }
+        return jwks;
+    }
+
+    private static Map<String, Object> toJwk(SigningKey key) {
+        Map<String, Object> jwk = new LinkedHashMap<>();
+        switch (key.algorithm()) {
+            case ES256 -> {
+                ECPublicKey publicKey = (ECPublicKey) key.verificationKey();
+                jwk.put("kty", "EC");
+                jwk.put("crv", "P-256");
+                jwk.put("x", base64Url(unsigned(publicKey.getW().getAffineX())));
+                jwk.put("y", base64Url(unsigned(publicKey.getW().getAffineY())));
+            }
+            case EDDSA -> {
+                byte[] encoded = key.verificationKey().getEncoded();
+                jwk.put("kty", "OKP");
+                jwk.put("crv", "Ed25519");
+                jwk.put("x", base64Url(Arrays.copyOfRange(encoded, encoded.length - ED25519_KEY_BYTES, encoded.length)));
+            }
+            case HS256 -> throw new IllegalArgumentException("Shared secrets are never published");
+        }
+        jwk.put("kid", key.kid());
+        jwk.put("use", "sig");
+        jwk.put("alg", key.algorithm().getJwaName());
+        return jwk;
+    }
+
+    private static byte[] unsigned(BigInteger coordinate) {
+        byte[] bytes = coordinate.toByteArray();
+        byte[] padded = new byte[EC_COORDINATE_BYTES];
+        int length = Math.min(bytes.length, EC_COORDINATE_BYTES);
+        System.arraycopy(bytes, bytes.length - length, padded, EC_COORDINATE_BYTES - length, length);
+        return padded;
+    }
+
+    private static String base64Url(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static List<SigningKey> loadKeys(JwtSigningProperties properties, String jwtSecret) {
+        List<SigningKey> keys = new ArrayList<>();
+        if (jwtSecret != null && !jwtSecret.isBlank()) {
+            keys.add(hmac(jwtSecret));
+        }
+        for (JwtSigningProperties.Key key : properties.keys()) {
+            keys.add(load(key));
+        }
+        return keys;
+    }
+
+    private static SigningKey load(JwtSigningProperties.Key key) {
+        if (key.kid() == null || key.kid().isBlank() || HMAC_KID.equals(key.kid())) {
+            throw new IllegalStateException("JWT signing keys need a kid other than '" + HMAC_KID + "'");
+        }
+        if (key.algorithm() == null || !key.algorithm().isAsymmetric()) {
+            throw new IllegalStateException("JWT key " + key.kid() + " must use ES256 or EdDSA, HS256 comes from app.jwt.secret");
+        }
+        if (key.publicKey() == null || key.publicKey().isBlank()) {
+            throw new IllegalStateException("JWT key " + key.kid() + " has no public key");
+        }
+        try {
+            KeyFactory keyFactory = KeyFactory.getInstance(key.algorithm().getKeyFactoryAlgorithm());
+            PublicKey publicKey = keyFactory.generatePublic(new X509EncodedKeySpec(pem(key.publicKey())));
+            // Retired keys keep only their public half so they can verify until outstanding tokens expire
+            PrivateKey privateKey = key.privateKey() == null || key.privateKey().isBlank()
+                    ? null
+                    : keyFactory.generatePrivate(new PKCS8EncodedKeySpec(pem(key.privateKey())));
+            return new SigningKey(key.kid(), key.algorithm(), privateKey, publicKey);
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException("Cannot load JWT key " + key.kid(), e);
+        }
+    }
+
+    private static byte[] pem(String pem) {
+        String base64 = pem.replaceAll("-----(BEGIN|END) [A-Z ]+-----", "").replaceAll("\\s", "");
+        return Base64.getDecoder().decode(base64);
+    }
+
+    public record SigningKey(String kid, JwtAlgorithm algorithm, Key signingKey, Key verificationKey) {
+    }
+}
@@ -0,0 +1,16 @@
+package com.alten.shop.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+
+@ConfigurationProperties("app.jwt.signing")
+public record JwtSigningProperties(String activeKid, List<Key> keys) {
+
+    public JwtSigningProperties {
+        keys = keys == null ? List.of() : List.copyOf(keys);
+    }
+
+    public record Key(String kid, JwtAlgorithm algorithm, String privateKey, String publicKey) {
+    }
+}
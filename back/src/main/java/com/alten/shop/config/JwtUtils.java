@@ -1,30 +1,52 @@
 package com.alten.shop.config;
 
+import com.alten.shop.entity.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
-import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Component
 public class JwtUtils {
 
-    @Value("${app.jwt.secret}")
-    private String jwtSecret;
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_USERNAME = "username";
+    public static final String CLAIM_FIRSTNAME = "firstname";
 
-    @Value("${app.jwt.expiration}")
-    private int jwtExpirationMs;
+    private final JwtKeyRing keyRing;
+    private final JwtParser jwtParser;
+    private final int jwtExpirationMs;
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    public JwtUtils(JwtKeyRing keyRing,
+                    @Value("${app.jwt.expiration}") int jwtExpirationMs,
+                    VerifiedTokenCache verifiedTokenCache) {
+        this.keyRing = keyRing;
+        this.jwtParser = Jwts.parser()
+                .keyLocator(keyRing::verificationKey)
+                .build();
+        this.jwtExpirationMs = jwtExpirationMs;
+        this.verifiedTokenCache = verifiedTokenCache;
+    }
+
+    public VerifiedToken verify(String token) {
+        return verifiedTokenCache.get(token, raw -> VerifiedToken.from(extractAllClaims(raw)));
+    }
+
+    public void evictVerified(String token) {
+        verifiedTokenCache.evict(token);
+    }
 
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return verify(token).subject();
     }
 
     public Date extractExpiration(String token) {
@@ -37,40 +59,43 @@ public class JwtUtils {
     }
 
     private Claims extractAllClaims(String token) {
-        SecretKey key = getSigningKey();
-        return Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-    }
-
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+        return jwtParser.parseSignedClaims(token).getPayload();
     }
 
     public String generateToken(UserDetails userDetails) {
+        UserPrincipal principal = toPrincipal(userDetails);
         Map<String, Object> claims = new HashMap<>();
-        return createToken(claims, userDetails.getUsername());
+        claims.put(CLAIM_USER_ID, principal.getId());
+        claims.put(CLAIM_USERNAME, principal.getUsername());
+        claims.put(CLAIM_FIRSTNAME, principal.getFirstname());
+        return createToken(claims, principal.getEmail());
     }
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+    private static UserPrincipal toPrincipal(UserDetails userDetails) {
+        return switch (userDetails) {
+            case UserPrincipal principal -> principal;
+            case User user -> new UserPrincipal(user);
+            default -> throw new IllegalArgumentException(
+                    "Unsupported user details type: " + userDetails.getClass().getName());
+        };
     }
 
     private String createToken(Map<String, Object> claims, String subject) {
-        SecretKey key = getSigningKey();
-        return Jwts.builder()
-                .setClaims(claims)
-                .setSubject(subject)
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + jwtExpirationMs))
-                .signWith(key, Jwts.SIG.HS256)
+        long now = System.currentTimeMillis();
+        return keyRing.sign(Jwts.builder()
+                        .claims(claims)
+                        .id(UUID.randomUUID().toString())
+                        .subject(subject)
+                        .issuedAt(new Date(now))
+                        .expiration(new Date(now + jwtExpirationMs)))
                 .compact();
     }
 
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        return validateToken(verify(token), userDetails);
+    }
+
+    public boolean validateToken(VerifiedToken token, UserDetails userDetails) {
+        return token.subject().equals(toPrincipal(userDetails).getEmail()) && !token.isExpired();
     }
 }
\ No newline at end of file
@@ -0,0 +1,26 @@
+package com.alten.shop.config;
+
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(name = "app.catalog.json-fragments.enabled", havingValue = "true", matchIfMissing = true)
+public class ProductJsonConfig {
+
+    @Bean
+    public ProductJsonFragments productJsonFragments(
+            MeterRegistry meterRegistry,
+            @Value("${app.catalog.json-fragments.maximum-size:20000}") long maximumSize) {
+        return new ProductJsonFragments(meterRegistry, maximumSize);
+    }
+
+    // Boot registers every Module bean with the application ObjectMapper
+    @Bean
+    public SimpleModule productJsonFragmentsModule(ProductJsonFragments productJsonFragments) {
+        return productJsonFragments.module();
+    }
+}
@@ -0,0 +1,135 @@
+package com.alten.shop.config;
+
+import com.alten.shop.dto.response.ProductResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.LocalDateTime;
+
+// Serialized ProductResponse JSON by (id, updatedAt, description variant). List pages, carts and wishlists repeat
+// the same products; the module below writes a cached fragment as a raw value instead of walking the record again.
+public class ProductJsonFragments {
+
+    // Set on an ObjectWriter (withAttribute) to serialize normally, e.g. for a one-off walk over the whole catalog
+    public static final String BYPASS_ATTRIBUTE = ProductJsonFragments.class.getName() + ".bypass";
+
+    private final Cache<FragmentKey, SerializableString> cache;
+
+    public ProductJsonFragments(MeterRegistry meterRegistry, long maximumSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "product-json");
+    }
+
+    public SimpleModule module() {
+        SimpleModule module = new SimpleModule("ProductJsonFragments");
+        module.setSerializerModifier(new BeanSerializerModifier() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public JsonSerializer<?> modifySerializer(SerializationConfig config, BeanDescription description,
+                                                      JsonSerializer<?> serializer) {
+                if (description.getBeanClass() != ProductResponse.class) {
+                    return serializer;
+                }
+                return new FragmentSerializer((JsonSerializer<Object>) serializer);
+            }
+        });
+        return module;
+    }
+
+    private SerializableString fragment(ProductResponse product, JsonGenerator gen, SerializerProvider provider,
+                                        JsonSerializer<Object> delegate) throws IOException {
+        // List pages leave the description out while detail, cart and wishlist carry it: one fragment per shape
+        FragmentKey key = new FragmentKey(product.id(), product.updatedAt(), product.description() != null);
+        SerializableString json = cache.getIfPresent(key);
+        if (json == null) {
+            json = render(product, gen, provider, delegate);
+            cache.put(key, json);
+        }
+        return json;
+    }
+
+    // Rendered with the caller's mapper and serializer, so the bytes match what it would have written itself
+    private static SerializableString render(ProductResponse product, JsonGenerator gen, SerializerProvider provider,
+                                             JsonSerializer<Object> delegate) throws IOException {
+        ObjectMapper mapper = (ObjectMapper) gen.getCodec();
+        StringWriter json = new StringWriter(512);
+        try (JsonGenerator fragmentGenerator = mapper.getFactory().createGenerator(json)) {
+            delegate.serialize(product, fragmentGenerator, provider);
+        }
+        // SerializedString keeps its UTF-8 encoding once computed, so byte output splices it without re-encoding
+        return new SerializedString(json.toString());
+    }
+
+    private static boolean canSplice(ProductResponse product, JsonGenerator gen, SerializerProvider provider) {
+        return product.id() != null && product.updatedAt() != null
+                && gen.getCodec() instanceof ObjectMapper
+                // Token buffers (convertValue, valueToTree) would keep the fragment as an opaque raw value
+                && !(gen instanceof TokenBuffer)
+                && gen.getPrettyPrinter() == null
+                && provider.getActiveView() == null
+                && provider.getAttribute(BYPASS_ATTRIBUTE) == null;
+    }
+
+    // updatedAt versions the fields: writes flush before a response is built from the entity (ProductService)
+    private record FragmentKey(Long id, LocalDateTime updatedAt, boolean withDescription) {
+    }
+
+    private class FragmentSerializer extends StdSerializer<ProductResponse>
+            implements ResolvableSerializer, ContextualSerializer {
+
+        private final JsonSerializer<Object> delegate;
+
+        FragmentSerializer(JsonSerializer<Object> delegate) {
+            super(ProductResponse.class);
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void serialize(ProductResponse product, JsonGenerator gen, SerializerProvider provider)
+                throws IOException {
+            if (!canSplice(product, gen, provider)) {
+                delegate.serialize(product, gen, provider);
+                return;
+            }
+            gen.writeRawValue(fragment(product, gen, provider, delegate));
+        }
+
+        @Override
+        public void resolve(SerializerProvider provider) throws JsonMappingException {
+            if (delegate instanceof ResolvableSerializer resolvable) {
+                resolvable.resolve(provider);
+            }
+        }
+
+        // A property-specific variant (@JsonFormat and the like) renders differently and must not share fragments
+        @Override
+        public JsonSerializer<?> createContextual(SerializerProvider provider, BeanProperty property)
+                throws JsonMappingException {
+            JsonSerializer<?> contextual = provider.handlePrimaryContextualization(delegate, property);
+            return contextual == delegate ? this : contextual;
+        }
+    }
+}
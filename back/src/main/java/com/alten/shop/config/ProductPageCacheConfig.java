@@ -0,0 +1,32 @@
+package com.alten.shop.config;
+
+import com.alten.shop.service.CatalogVersion;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(name = "app.catalog.page-cache.enabled", havingValue = "true", matchIfMissing = true)
+public class ProductPageCacheConfig {
+
+    @Bean
+    public FilterRegistrationBean<ProductPageCacheFilter> productPageCacheFilter(
+            CatalogVersion catalogVersion,
+            MeterRegistry meterRegistry,
+            @Value("${app.catalog.page-cache.max-bytes:67108864}") long maxBytes,
+            @Value("${app.catalog.page-cache.ttl:10m}") Duration ttl) {
+        FilterRegistrationBean<ProductPageCacheFilter> registration = new FilterRegistrationBean<>(
+                new ProductPageCacheFilter(catalogVersion::version, meterRegistry, maxBytes, ttl));
+        // Exact match: only the list endpoint, not /products/{id}, search, facets or export
+        registration.addUrlPatterns("/products");
+        // Behind the security chain, so authentication and rate limits still apply to cache hits
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 1);
+        return registration;
+    }
+}
@@ -0,0 +1,192 @@
+package com.alten.shop.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.zip.GZIPOutputStream;
+
+// Whole GET /products responses, stored serialized and pre-gzipped so a hit skips the query, the mapping and Jackson.
+// Entries are keyed by catalog version: any product write makes every stored page unreachable.
+public class ProductPageCacheFilter extends OncePerRequestFilter {
+
+    private static final Set<String> KEY_PARAMETERS =
+            Set.of("category", "minPrice", "maxPrice", "page", "size", "sort", "totals");
+    private static final Set<String> REPLAYED_HEADERS = Set.of(
+            HttpHeaders.CONTENT_TYPE, HttpHeaders.ETAG, HttpHeaders.LAST_MODIFIED, HttpHeaders.CACHE_CONTROL);
+    // Rough per-entry bookkeeping (key, headers, object headers) on top of the two bodies
+    private static final int ENTRY_OVERHEAD_BYTES = 512;
+
+    private final LongSupplier catalogVersion;
+    private final Cache<PageKey, CachedPage> cache;
+    private final AtomicLong cachedVersion = new AtomicLong(-1);
+
+    public ProductPageCacheFilter(LongSupplier catalogVersion, MeterRegistry meterRegistry,
+                                  long maximumBytes, Duration ttl) {
+        this.catalogVersion = catalogVersion;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumBytes)
+                .weigher((PageKey key, CachedPage page) -> page.weight())
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "product-pages");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"GET".equals(request.getMethod())
+                // Conditional requests already end in a cheap 304 from the controller
+                || request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        // Read before the request runs, like the controller's ETag: a page is never filed under a newer version
+        long version = catalogVersion.getAsLong();
+        PageKey key = PageKey.of(request, version);
+        if (key == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        // Monotonic: a request that read an older version before a newer one was seen must not wipe the newer pages
+        long newest = cachedVersion.getAndAccumulate(version, Math::max);
+        if (version > newest) {
+            // Pages of older versions can never be hit again; free their memory now rather than on eviction
+            cache.invalidateAll();
+        }
+
+        CachedPage cached = cache.getIfPresent(key);
+        if (cached != null) {
+            write(cached, request, response);
+            return;
+        }
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, wrapper);
+        CachedPage page = capture(wrapper);
+        // A write that committed while the page was built may or may not be in it: such a page is filed nowhere
+        if (page != null && catalogVersion.getAsLong() == version && version >= cachedVersion.get()) {
+            cache.put(key, page);
+        }
+        response.setHeader("X-Cache", "MISS");
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        wrapper.copyBodyToResponse();
+    }
+
+    private static CachedPage capture(ContentCachingResponseWrapper response) throws IOException {
+        String contentType = response.getContentType();
+        if (response.getStatus() != HttpStatus.OK.value() || contentType == null
+                || !MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(contentType))
+                || response.getHeader(HttpHeaders.CONTENT_ENCODING) != null) {
+            return null;
+        }
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (String name : REPLAYED_HEADERS) {
+            String value = response.getHeader(name);
+            if (value != null) {
+                headers.put(name, value);
+            }
+        }
+        byte[] json = response.getContentAsByteArray();
+        return new CachedPage(json, gzip(json), headers);
+    }
+
+    private static void write(CachedPage page, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        page.headers().forEach(response::setHeader);
+        response.setHeader("X-Cache", "HIT");
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        byte[] body = page.json();
+        if (acceptsGzip(request)) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            // Other bytes than the identity body: a strong tag must not be shared across the two, so this one is weak
+            String etag = page.headers().get(HttpHeaders.ETAG);
+            if (etag != null && !etag.startsWith("W/")) {
+                response.setHeader(HttpHeaders.ETAG, "W/" + etag);
+            }
+            body = page.gzip();
+        }
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+    }
+
+    private static byte[] gzip(byte[] json) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            gzip.write(json);
+        }
+        return bytes.toByteArray();
+    }
+
+    private record CachedPage(byte[] json, byte[] gzip, Map<String, String> headers) {
+        int weight() {
+            return json.length + gzip.length + ENTRY_OVERHEAD_BYTES;
+        }
+    }
+
+    // Defaults are filled in and numbers canonicalized, so ?page=0&size=10 and no parameters share one entry
+    private record PageKey(long version, String category, Double minPrice, Double maxPrice, int page, int size,
+                           String sort, String totals) {
+
+        static PageKey of(HttpServletRequest request, long version) {
+            Map<String, String[]> parameters = request.getParameterMap();
+            for (Map.Entry<String, String[]> parameter : parameters.entrySet()) {
+                // Cursor pages, id lookups and anything unexpected go straight to the controller
+                if (!KEY_PARAMETERS.contains(parameter.getKey()) || parameter.getValue().length != 1) {
+                    return null;
+                }
+            }
+            try {
+                String totals = request.getParameter("totals");
+                return new PageKey(
+                        version,
+                        request.getParameter("category"),
+                        parseDouble(request.getParameter("minPrice")),
+                        parseDouble(request.getParameter("maxPrice")),
+                        parseInt(request.getParameter("page"), 0),
+                        parseInt(request.getParameter("size"), 10),
+                        request.getParameter("sort") != null ? request.getParameter("sort") : "name",
+                        totals != null ? totals.toLowerCase(Locale.ROOT) : null);
+            } catch (NumberFormatException e) {
+                // Malformed numbers are the controller's to reject
+                return null;
+            }
+        }
+
+        private static Double parseDouble(String value) {
+            return value != null ? Double.valueOf(value) : null;
+        }
+
+        private static int parseInt(String value, int defaultValue) {
+            return value != null ? Integer.parseInt(value) : defaultValue;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.alten.shop.config;
+
+import com.alten.shop.util.TokenBucket;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final List<Route> routes = new ArrayList<>();
+    private final Cache<ClientKey, TokenBucket> buckets;
+
+    public RateLimitFilter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        properties.policies().forEach((group, policy) -> routes.add(new Route(
+                group,
+                PathPatternParser.defaultInstance.parse(policy.pattern()),
+                policy.capacity(),
+                policy.period().toNanos(),
+                Counter.builder("http.server.requests.rate-limited")
+                        .tag("group", group)
+                        .register(meterRegistry))));
+        // A bucket left alone for its longest period is full again, so dropping it loses nothing. The size bound
+        // is enforced by Caffeine's amortized maintenance, never by a sweep on the request path; under pressure its
+        // frequency-based admission keeps the buckets of clients that keep hammering a route.
+        Duration idleAfter = properties.policies().values().stream()
+                .map(RateLimitProperties.Policy::period)
+                .max(Duration::compareTo)
+                .orElse(Duration.ofMinutes(1));
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.maxTrackedClients())
+                .expireAfterAccess(idleAfter)
+                .build();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Route route = match(request);
+        if (route == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.get(new ClientKey(route.group(), clientId(request)),
+                key -> new TokenBucket(route.capacity(), route.periodNanos(), now));
+        long result = bucket.tryAcquire(now);
+
+        response.setHeader("X-RateLimit-Limit", String.valueOf(route.capacity()));
+        response.setHeader("X-RateLimit-Remaining", String.valueOf(Math.max(0, result)));
+        response.setHeader("X-RateLimit-Reset", String.valueOf(toSeconds(bucket.nanosUntilFull(now))));
+
+        if (result < 0) {
+            route.rejected().increment();
+            reject(request, response, Math.max(1, toSeconds(-(result + 1))));
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private Route match(HttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+        for (Route route : routes) {
+            if (route.pattern().matches(path)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    private static String clientId(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return "user:" + principal.getId();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private static long toSeconds(long nanos) {
+        return TimeUnit.NANOSECONDS.toSeconds(nanos + TimeUnit.SECONDS.toNanos(1) - 1);
+    }
+
+    private static void reject(HttpServletRequest request, HttpServletResponse response,
+                               long retryAfterSeconds) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+
+        final Map<String, Object> body = new HashMap<>();
+        body.put("status", HttpStatus.TOO_MANY_REQUESTS.value());
+        body.put("error", "Too Many Requests");
+        body.put("message", "Rate limit exceeded, retry in " + retryAfterSeconds + "s");
+        body.put("path", request.getServletPath());
+
+        MAPPER.writeValue(response.getOutputStream(), body);
+    }
+
+    private record Route(String group, PathPattern pattern, long capacity, long periodNanos, Counter rejected) {
+    }
+
+    private record ClientKey(String group, String client) {
+    }
+}
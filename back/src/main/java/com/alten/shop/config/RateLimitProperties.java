@@ -0,0 +1,18 @@
+package com.alten.shop.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Map;
+
+@ConfigurationProperties("app.rate-limit")
+public record RateLimitProperties(boolean enabled, int maxTrackedClients, Map<String, Policy> policies) {
+
+    public RateLimitProperties {
+        maxTrackedClients = maxTrackedClients > 0 ? maxTrackedClients : 100_000;
+        policies = policies == null ? Map.of() : policies;
+    }
+
+    public record Policy(String pattern, long capacity, Duration period) {
+    }
+}
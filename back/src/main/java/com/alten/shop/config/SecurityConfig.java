@@ -1,6 +1,11 @@
 package com.alten.shop.config;
 
+import com.alten.shop.service.TokenRevocationService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -17,28 +22,43 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.time.Duration;
 import java.util.Arrays;
 
 @Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
 public class SecurityConfig {
 
     private final UserDetailsService userDetailsService;
     private final AuthEntryPointJwt unauthorizedHandler;
     private final JwtUtils jwtUtils;
+    private final TokenRevocationService tokenRevocationService;
+    private final RateLimitProperties rateLimitProperties;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
     @Value("${app.security.enabled:true}")
     private boolean securityEnabled;
+    @Value("${app.jwt.revalidate-minutes:0}")
+    private long revalidateMinutes;
+    @Value("${app.security.bcrypt.strength:10}")
+    private int bcryptStrength;
 
     public SecurityConfig(UserDetailsService userDetailsService,
                           AuthEntryPointJwt unauthorizedHandler,
-                          JwtUtils jwtUtils) {
+                          JwtUtils jwtUtils,
+                          TokenRevocationService tokenRevocationService,
+                          RateLimitProperties rateLimitProperties,
+                          ObjectProvider<MeterRegistry> meterRegistry) {
         this.userDetailsService = userDetailsService;
         this.unauthorizedHandler = unauthorizedHandler;
         this.jwtUtils = jwtUtils;
+        this.tokenRevocationService = tokenRevocationService;
+        this.rateLimitProperties = rateLimitProperties;
+        this.meterRegistry = meterRegistry;
     }
 
     @Bean
     public AuthTokenFilter authenticationJwtTokenFilter() {
-        return new AuthTokenFilter(jwtUtils, userDetailsService);
+        return new AuthTokenFilter(jwtUtils, userDetailsService, tokenRevocationService, Duration.ofMinutes(revalidateMinutes));
     }
 
     @Bean
@@ -56,7 +76,7 @@ public class SecurityConfig {
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BCryptPasswordEncoder(bcryptStrength);
     }
 
     @Bean
@@ -83,6 +103,12 @@ public class SecurityConfig {
 
             http.authenticationProvider(authenticationProvider());
             http.addFilterBefore(authenticationJwtTokenFilter(), UsernamePasswordAuthenticationFilter.class);
+            if (rateLimitProperties.enabled() && !rateLimitProperties.policies().isEmpty()) {
+                // Runs right after token verification so authenticated clients are limited per user, not per IP
+                RateLimitFilter rateLimitFilter = new RateLimitFilter(
+                        rateLimitProperties, meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+                http.addFilterAfter(rateLimitFilter, AuthTokenFilter.class);
+            }
 
             return http.build();
         }
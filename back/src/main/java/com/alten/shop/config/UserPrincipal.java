@@ -28,7 +28,15 @@ public class UserPrincipal implements UserDetails {
         this.username = username;
         this.firstname = firstname;
         this.password = password;
+    }
 
+    public static UserPrincipal fromToken(VerifiedToken token) {
+        Long id = token.longClaim(JwtUtils.CLAIM_USER_ID);
+        String username = token.stringClaim(JwtUtils.CLAIM_USERNAME);
+        if (id == null || username == null) {
+            return null;
+        }
+        return new UserPrincipal(id, token.subject(), username, token.stringClaim(JwtUtils.CLAIM_FIRSTNAME), null);
     }
 
     public Long getId() {
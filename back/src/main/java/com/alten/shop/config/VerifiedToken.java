@@ -0,0 +1,47 @@
+package com.alten.shop.config;
+
+import io.jsonwebtoken.Claims;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.Map;
+
+public record VerifiedToken(
+        String subject,
+        Instant issuedAt,
+        Instant expiration,
+        Map<String, Object> claims
+) {
+    public VerifiedToken {
+        claims = Map.copyOf(claims);
+    }
+
+    public static VerifiedToken from(Claims claims) {
+        return new VerifiedToken(
+                claims.getSubject(),
+                toInstant(claims.getIssuedAt()),
+                toInstant(claims.getExpiration()),
+                claims
+        );
+    }
+
+    public String tokenId() {
+        return stringClaim(Claims.ID);
+    }
+
+    public String stringClaim(String name) {
+        return claims.get(name) instanceof String value ? value : null;
+    }
+
+    public Long longClaim(String name) {
+        return claims.get(name) instanceof Number value ? value.longValue() : null;
+    }
+
+    public boolean isExpired() {
+        return expiration != null && expiration.isBefore(Instant.now());
+    }
+
+    private static Instant toInstant(Date date) {
+        return date != null ? date.toInstant() : null;
+    }
+}
@@ -1,29 +1,69 @@
 package com.alten.shop.controller;
 
 import com.alten.shop.config.UserPrincipal;
+import com.alten.shop.dto.request.ProductBatchRequest;
 import com.alten.shop.dto.request.ProductRequest;
 import com.alten.shop.dto.response.ApiResponse;
+import com.alten.shop.dto.response.CursorPage;
+import com.alten.shop.dto.response.ImportReport;
+import com.alten.shop.dto.response.ProductFacetsResponse;
+import com.alten.shop.dto.response.ProductLookupResponse;
+import com.alten.shop.dto.response.ProductPageResponse;
 import com.alten.shop.dto.response.ProductResponse;
+import com.alten.shop.exception.ServiceUnavailableException;
+import com.alten.shop.service.CatalogVersion;
+import com.alten.shop.service.ProductExportService;
+import com.alten.shop.service.ProductFacetService;
+import com.alten.shop.service.ProductFileFormat;
+import com.alten.shop.service.ProductImportService;
 import com.alten.shop.service.ProductService;
+import com.alten.shop.service.TotalsMode;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/products")
 public class ProductController {
 
+    // Clients may keep product responses but must revalidate them; a matching ETag costs a 304 and no body
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     private final ProductService productService;
+    private final ProductFacetService productFacetService;
+    private final CatalogVersion catalogVersion;
+    private final ProductImportService productImportService;
+    private final ProductExportService productExportService;
 
-    public ProductController(ProductService productService) {
+    public ProductController(ProductService productService, ProductFacetService productFacetService,
+                             CatalogVersion catalogVersion, ProductImportService productImportService,
+                             ProductExportService productExportService) {
         this.productService = productService;
+        this.productFacetService = productFacetService;
+        this.catalogVersion = catalogVersion;
+        this.productImportService = productImportService;
+        this.productExportService = productExportService;
     }
 
     @GetMapping
@@ -33,19 +73,132 @@ public class ProductController {
             @RequestParam Optional<Double> maxPrice,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            @RequestParam(defaultValue = "name") String sort) {
+            @RequestParam(defaultValue = "name") String sort,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) String totals,
+            WebRequest request) {
+
+        // The version is read before the query, so a page is never tagged newer than its content
+        CatalogVersion.Validators validators = catalogVersion.validators();
+        if (request.checkNotModified(validators.etag(), validators.lastModified())) {
+            return null;
+        }
+
+        if (after != null) {
+            CursorPage<ProductResponse> products =
+                    productService.getProductsAfter(category, minPrice, maxPrice, sort, after, size);
+            return ResponseEntity.ok().cacheControl(REVALIDATE)
+                    .body(ApiResponse.success("Products retrieved successfully", products));
+        }
 
         Pageable pageable = PageRequest.of(page, size, Sort.by(sort));
+        if (totals != null) {
+            ProductPageResponse products = productService.getProducts(
+                    category, minPrice, maxPrice, pageable, TotalsMode.fromParameter(totals));
+            return ResponseEntity.ok().cacheControl(REVALIDATE)
+                    .body(ApiResponse.success("Products retrieved successfully", products));
+        }
         Page<ProductResponse> products = productService.getProducts(category, minPrice, maxPrice, pageable);
 
+        return ResponseEntity.ok().cacheControl(REVALIDATE)
+                .body(ApiResponse.success("Products retrieved successfully", products));
+    }
+
+    // Lists of ids (carts, carousels) resolve in one round trip; the POST variant takes lists too long for a URL
+    @GetMapping(params = "ids")
+    public ResponseEntity<ApiResponse> getProductsByIds(@RequestParam List<Long> ids) {
+        List<ProductLookupResponse> products = productService.getProductsByIds(ids);
+        return ResponseEntity.ok(ApiResponse.success("Products retrieved successfully", products));
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<ApiResponse> getProductsByIds(@Valid @RequestBody ProductBatchRequest batchRequest) {
+        List<ProductLookupResponse> products = productService.getProductsByIds(batchRequest.ids());
+        return ResponseEntity.ok(ApiResponse.success("Products retrieved successfully", products));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse> searchProducts(
+            @RequestParam String q,
+            @RequestParam Optional<String> category,
+            @RequestParam Optional<Double> minPrice,
+            @RequestParam Optional<Double> maxPrice,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+
+        Page<ProductResponse> products = productService.searchProducts(
+                q, category, minPrice, maxPrice, PageRequest.of(page, size));
         return ResponseEntity.ok(ApiResponse.success("Products retrieved successfully", products));
     }
 
+    @GetMapping("/facets")
+    public ResponseEntity<ApiResponse> getFacets(
+            @RequestParam Optional<String> category,
+            @RequestParam Optional<Double> minPrice,
+            @RequestParam Optional<Double> maxPrice) {
+
+        ProductFacetsResponse facets = productFacetService.getFacets(category, minPrice, maxPrice);
+        return ResponseEntity.ok(ApiResponse.success("Facets retrieved successfully", facets));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportProducts(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam Optional<String> category,
+            @RequestParam Optional<Double> minPrice,
+            @RequestParam Optional<Double> maxPrice,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+
+        // The full catalog, internal references included, is for the same people who can import it
+        if (!productService.isAdmin(currentUser.getEmail())) {
+            throw new RuntimeException("Access denied. Admin privileges required.");
+        }
+
+        ProductFileFormat fileFormat = ProductFileFormat.fromParameter(format);
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+        StreamingResponseBody body = output -> {
+            OutputStream target = gzip ? new GZIPOutputStream(output, 64 * 1024) : output;
+            productExportService.export(target, fileFormat, category, minPrice, maxPrice);
+            if (target instanceof GZIPOutputStream gzipOutput) {
+                gzipOutput.finish();
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(fileFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("products." + fileFormat.getExtension()).build().toString())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse> getProduct(@PathVariable Long id) {
+    public ResponseEntity<ApiResponse> getProduct(@PathVariable Long id, WebRequest request) {
+        // A revalidation is settled on updated_at alone; the product is only read in full once it has changed
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null) {
+            Optional<LocalDateTime> updatedAt = productService.getProductUpdatedAt(id);
+            if (updatedAt.isPresent() && checkNotModified(request, id, updatedAt.get())) {
+                return null;
+            }
+        }
         ProductResponse product = productService.getProduct(id)
                 .orElseThrow(() -> new RuntimeException("Product not found"));
-        return ResponseEntity.ok(ApiResponse.success("Product retrieved successfully", product));
+        if (product.updatedAt() != null && checkNotModified(request, product.id(), product.updatedAt())) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(REVALIDATE)
+                .body(ApiResponse.success("Product retrieved successfully", product));
+    }
+
+    // updated_at is a zone-less column; it is read as UTC so the tag does not depend on the server's zone
+    private static boolean checkNotModified(WebRequest request, Long id, LocalDateTime updatedAt) {
+        long lastModified = updatedAt.toInstant(ZoneOffset.UTC).toEpochMilli();
+        return request.checkNotModified("\"product-" + id + "-" + lastModified + "\"", lastModified);
     }
 
     @PostMapping
@@ -61,6 +214,21 @@ public class ProductController {
         return ResponseEntity.ok(ApiResponse.success("Product created successfully", createdProduct));
     }
 
+    // The body is read as it arrives rather than bound up front, so feeds of any size run in bounded memory
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "text/csv"})
+    public ResponseEntity<ApiResponse> importProducts(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body,
+            @AuthenticationPrincipal UserPrincipal currentUser) throws IOException {
+
+        if (!productService.isAdmin(currentUser.getEmail())) {
+            throw new RuntimeException("Access denied. Admin privileges required.");
+        }
+
+        ImportReport report = productImportService.importProducts(body, ProductFileFormat.fromContentType(contentType));
+        return ResponseEntity.ok(ApiResponse.success("Products imported", report));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<ApiResponse> updateProduct(
             @PathVariable Long id,
@@ -87,4 +255,16 @@ public class ProductController {
         productService.deleteProduct(id);
         return ResponseEntity.ok(ApiResponse.success("Product deleted successfully"));
     }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ApiResponse> handleIllegalArgument(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+    }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ApiResponse> handleServiceUnavailable(ServiceUnavailableException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, e.getRetryAfter().toSeconds())))
+                .body(ApiResponse.error(e.getMessage()));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.alten.shop.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+public record ProductBatchRequest(
+        @NotEmpty List<@NotNull Long> ids
+) {
+}
@@ -5,10 +5,15 @@ import java.util.Objects;
 public record AuthResponse(
         String token,
         String type,
-        UserResponse user
+        UserResponse user,
+        String refreshToken
 ) {
     public AuthResponse(String token, UserResponse user) {
-        this(token, "Bearer", user);
+        this(token, "Bearer", user, null);
+    }
+
+    public AuthResponse(String token, String refreshToken, UserResponse user) {
+        this(token, "Bearer", user, refreshToken);
     }
 
     public AuthResponse {
@@ -0,0 +1,11 @@
+package com.alten.shop.dto.response;
+
+import java.util.List;
+
+public record CursorPage<T>(
+        List<T> content,
+        int size,
+        String nextCursor,
+        boolean hasNext
+) {
+}
@@ -0,0 +1,15 @@
+package com.alten.shop.dto.response;
+
+import java.util.List;
+
+public record ImportReport(
+        long rows,
+        long imported,
+        long failed,
+        List<RowError> errors,
+        boolean errorsTruncated,
+        boolean aborted
+) {
+    public record RowError(long line, String code, String message) {
+    }
+}
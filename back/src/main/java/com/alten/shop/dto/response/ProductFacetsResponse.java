@@ -0,0 +1,17 @@
+package com.alten.shop.dto.response;
+
+import java.util.List;
+
+public record ProductFacetsResponse(
+        long total,
+        List<FacetCount> categories,
+        List<FacetCount> inventoryStatuses,
+        List<FacetCount> ratings,
+        List<PriceBucket> prices
+) {
+    public record FacetCount(String value, long count) {
+    }
+
+    public record PriceBucket(double from, double to, long count) {
+    }
+}
@@ -0,0 +1,15 @@
+package com.alten.shop.dto.response;
+
+public record ProductLookupResponse(
+        Long id,
+        boolean found,
+        ProductResponse product
+) {
+    public static ProductLookupResponse found(ProductResponse product) {
+        return new ProductLookupResponse(product.id(), true, product);
+    }
+
+    public static ProductLookupResponse notFound(Long id) {
+        return new ProductLookupResponse(id, false, null);
+    }
+}
@@ -0,0 +1,32 @@
+package com.alten.shop.dto.response;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+public record ProductPageResponse(
+        List<ProductResponse> content,
+        int page,
+        int size,
+        boolean hasNext,
+        Long totalElements,
+        Integer totalPages,
+        String totals
+) {
+    public static ProductPageResponse exact(Page<ProductResponse> page) {
+        return new ProductPageResponse(page.getContent(), page.getNumber(), page.getSize(), page.hasNext(),
+                page.getTotalElements(), page.getTotalPages(), "exact");
+    }
+
+    public static ProductPageResponse estimated(Slice<ProductResponse> slice, long estimatedTotal) {
+        return new ProductPageResponse(slice.getContent(), slice.getNumber(), slice.getSize(), slice.hasNext(),
+                estimatedTotal, slice.getSize() > 0 ? (int) Math.ceil((double) estimatedTotal / slice.getSize()) : 1,
+                "estimated");
+    }
+
+    public static ProductPageResponse withoutTotals(Slice<ProductResponse> slice) {
+        return new ProductPageResponse(slice.getContent(), slice.getNumber(), slice.getSize(), slice.hasNext(),
+                null, null, "none");
+    }
+}
@@ -38,4 +38,13 @@ public record ProductResponse(
                 p.getUpdatedAt()
         );
     }
+
+    // The shape list views return: every column but the TEXT description
+    public ProductResponse withoutDescription() {
+        if (description == null) {
+            return this;
+        }
+        return new ProductResponse(id, code, name, null, image, category, price, quantity, internalReference,
+                shellId, inventoryStatus, rating, createdAt, updatedAt);
+    }
 }
@@ -1,5 +1,6 @@
 package com.alten.shop.dto.response;
 
+import com.alten.shop.config.UserPrincipal;
 import com.alten.shop.entity.User;
 
 public record UserResponse(
@@ -16,4 +17,13 @@ public record UserResponse(
                 user.getEmail()
         );
     }
+
+    public static UserResponse fromPrincipal(UserPrincipal principal) {
+        return new UserResponse(
+                principal.getId(),
+                principal.getUsername(),
+                principal.getFirstname(),
+                principal.getEmail()
+        );
+    }
 }
\ No newline at end of file
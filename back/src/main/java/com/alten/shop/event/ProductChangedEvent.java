@@ -0,0 +1,32 @@
+package com.alten.shop.event;
+
+public record ProductChangedEvent(
+        Type type,
+        Long productId,
+        String previousCategory,
+        String category
+) {
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED,
+        // Many rows changed at once (imports); listeners should rebuild rather than patch
+        BULK
+    }
+
+    public static ProductChangedEvent created(Long productId, String category) {
+        return new ProductChangedEvent(Type.CREATED, productId, null, category);
+    }
+
+    public static ProductChangedEvent updated(Long productId, String previousCategory, String category) {
+        return new ProductChangedEvent(Type.UPDATED, productId, previousCategory, category);
+    }
+
+    public static ProductChangedEvent deleted(Long productId, String category) {
+        return new ProductChangedEvent(Type.DELETED, productId, category, null);
+    }
+
+    public static ProductChangedEvent bulk() {
+        return new ProductChangedEvent(Type.BULK, null, null, null);
+    }
+}
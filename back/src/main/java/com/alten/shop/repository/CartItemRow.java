@@ -0,0 +1,13 @@
+package com.alten.shop.repository;
+
+import java.time.LocalDateTime;
+
+// One cart line with just its product id, resolved through the product cache; item columns are null for an empty cart
+public record CartItemRow(
+        Long cartId,
+        LocalDateTime cartUpdatedAt,
+        Long itemId,
+        Integer quantity,
+        Long productId
+) {
+}
@@ -3,8 +3,11 @@ package com.alten.shop.repository;
 import com.alten.shop.entity.Cart;
 import com.alten.shop.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -12,4 +15,8 @@ public interface CartRepository extends JpaRepository<Cart, Long> {
     Optional<Cart> findByUser(User user);
 
     Optional<Cart> findByUserId(Long userId);
+
+    @Query("select new com.alten.shop.repository.CartItemRow(c.id, c.updatedAt, i.id, i.quantity, i.product.id) " +
+            "from Cart c left join c.items i where c.user.id = :userId order by i.id")
+    List<CartItemRow> findItemRowsByUserId(@Param("userId") Long userId);
 }
\ No newline at end of file
@@ -0,0 +1,9 @@
+package com.alten.shop.repository;
+
+import java.time.LocalDateTime;
+
+public interface CatalogStamp {
+    Long getCount();
+
+    LocalDateTime getLastUpdated();
+}
@@ -0,0 +1,11 @@
+package com.alten.shop.repository;
+
+public interface CategoryStatistics {
+    String getCategory();
+
+    Long getCount();
+
+    Double getMinPrice();
+
+    Double getMaxPrice();
+}
@@ -0,0 +1,37 @@
+package com.alten.shop.repository;
+
+import com.alten.shop.entity.Product;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+public record ProductCursor(ProductSortField sort, Comparable<?> value, Long id) {
+
+    private static final String SEPARATOR = ";";
+
+    public static ProductCursor of(ProductSortField sort, Product last) {
+        return new ProductCursor(sort, sort.valueOf(last), last.getId());
+    }
+
+    public String encode() {
+        String raw = sort.name() + SEPARATOR + id + (value != null ? SEPARATOR + value : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ProductCursor decode(String token, ProductSortField expectedSort) {
+        ProductCursor cursor;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            // The value goes last so it may contain the separator itself
+            String[] parts = raw.split(SEPARATOR, 3);
+            ProductSortField sort = ProductSortField.valueOf(parts[0]);
+            cursor = new ProductCursor(sort, parts.length == 3 ? sort.parse(parts[2]) : null, Long.valueOf(parts[1]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+        if (cursor.sort() != expectedSort) {
+            throw new IllegalArgumentException("Cursor was issued for sort=" + cursor.sort().getProperty());
+        }
+        return cursor;
+    }
+}
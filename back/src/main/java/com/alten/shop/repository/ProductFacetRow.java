@@ -0,0 +1,13 @@
+package com.alten.shop.repository;
+
+import com.alten.shop.entity.Product;
+
+// One group of the facet aggregation; priceBucket is floor(price / bucket width), null without a price
+public record ProductFacetRow(
+        String category,
+        Product.InventoryStatus inventoryStatus,
+        Integer rating,
+        Integer priceBucket,
+        long count
+) {
+}
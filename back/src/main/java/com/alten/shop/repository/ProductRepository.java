@@ -1,18 +1,44 @@
 package com.alten.shop.repository;
 
+import com.alten.shop.dto.response.ProductResponse;
 import com.alten.shop.entity.Product;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product> {
+public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product>,
+        ProductRepositoryCustom {
     Optional<Product> findByCode(String code);
 
     List<Product> findByCategory(String category);
 
     List<Product> findByPriceBetween(Double minPrice, Double maxPrice);
+
+    @Query("select new com.alten.shop.dto.response.ProductResponse(p.id, p.code, p.name, p.description, p.image, " +
+            "p.category, p.price, p.quantity, p.internalReference, p.shellId, p.inventoryStatus, p.rating, " +
+            "p.createdAt, p.updatedAt) from Product p where p.id = :id")
+    Optional<ProductResponse> findResponseById(@Param("id") Long id);
+
+    @Query("select new com.alten.shop.dto.response.ProductResponse(p.id, p.code, p.name, p.description, p.image, " +
+            "p.category, p.price, p.quantity, p.internalReference, p.shellId, p.inventoryStatus, p.rating, " +
+            "p.createdAt, p.updatedAt) from Product p where p.id in :ids")
+    List<ProductResponse> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select p.updatedAt from Product p where p.id = :id")
+    Optional<LocalDateTime> findUpdatedAtById(@Param("id") Long id);
+
+    @Query("select p.category as category, count(p) as count, min(p.price) as minPrice, max(p.price) as maxPrice " +
+            "from Product p group by p.category")
+    List<CategoryStatistics> findCategoryStatistics();
+
+    @Query("select count(p) as count, max(p.updatedAt) as lastUpdated from Product p")
+    CatalogStamp findCatalogStamp();
 }
\ No newline at end of file
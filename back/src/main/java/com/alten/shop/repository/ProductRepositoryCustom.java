@@ -0,0 +1,23 @@
+package com.alten.shop.repository;
+
+import com.alten.shop.dto.response.ProductResponse;
+import com.alten.shop.entity.Product;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface ProductRepositoryCustom {
+    Page<ProductResponse> findSummaries(Specification<Product> filter, Pageable pageable);
+
+    Slice<ProductResponse> findSummarySlice(Specification<Product> filter, Pageable pageable);
+
+    Stream<ProductResponse> streamAll(Specification<Product> filter, int fetchSize);
+
+    List<Product> findAllAfter(Specification<Product> filter, ProductSortField sort, ProductCursor after, int limit);
+
+    List<ProductFacetRow> findFacetRows(Specification<Product> filter, double priceBucketWidth);
+}
@@ -0,0 +1,237 @@
+package com.alten.shop.repository;
+
+import com.alten.shop.dto.response.ProductResponse;
+import com.alten.shop.entity.Product;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.*;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Transactional(readOnly = true)
+public class ProductRepositoryCustomImpl implements ProductRepositoryCustom {
+
+    private final EntityManager entityManager;
+
+    public ProductRepositoryCustomImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Page<ProductResponse> findSummaries(Specification<Product> filter, Pageable pageable) {
+        TypedQuery<ProductResponse> typedQuery = summaryQuery(filter, pageable.getSort());
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(typedQuery.getResultList());
+        }
+        List<ProductResponse> rows = typedQuery
+                .setFirstResult(Math.toIntExact(pageable.getOffset()))
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+        return PageableExecutionUtils.getPage(rows, pageable, () -> count(filter));
+    }
+
+    @Override
+    public Slice<ProductResponse> findSummarySlice(Specification<Product> filter, Pageable pageable) {
+        TypedQuery<ProductResponse> typedQuery = summaryQuery(filter, pageable.getSort());
+        if (pageable.isUnpaged()) {
+            return new SliceImpl<>(typedQuery.getResultList(), pageable, false);
+        }
+        // Fetch one row past the page to learn whether there is a next one, instead of counting
+        List<ProductResponse> rows = typedQuery
+                .setFirstResult(Math.toIntExact(pageable.getOffset()))
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? rows.subList(0, pageable.getPageSize()) : rows, pageable, hasNext);
+    }
+
+    // List views select every column but the TEXT description straight into the DTO: no entity, no snapshot
+    private TypedQuery<ProductResponse> summaryQuery(Specification<Product> filter, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ProductResponse> query = cb.createQuery(ProductResponse.class);
+        Root<Product> root = query.from(Product.class);
+
+        Predicate filterPredicate = filter.toPredicate(root, query, cb);
+        query.select(cb.construct(ProductResponse.class,
+                root.get("id"), root.get("code"), root.get("name"), cb.nullLiteral(String.class),
+                root.get("image"), root.get("category"), root.get("price"), root.get("quantity"),
+                root.get("internalReference"), root.get("shellId"), root.get("inventoryStatus"),
+                root.get("rating"), root.get("createdAt"), root.get("updatedAt")));
+        if (filterPredicate != null) {
+            query.where(filterPredicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        return entityManager.createQuery(query);
+    }
+
+    // Forward-only and unmanaged: rows are fetched fetchSize at a time and never enter the persistence context.
+    // The caller must hold a transaction open until the stream is closed, or PostgreSQL buffers the whole result.
+    @Override
+    public Stream<ProductResponse> streamAll(Specification<Product> filter, int fetchSize) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ProductResponse> query = cb.createQuery(ProductResponse.class);
+        Root<Product> root = query.from(Product.class);
+
+        Predicate filterPredicate = filter.toPredicate(root, query, cb);
+        query.select(cb.construct(ProductResponse.class,
+                root.get("id"), root.get("code"), root.get("name"), root.get("description"),
+                root.get("image"), root.get("category"), root.get("price"), root.get("quantity"),
+                root.get("internalReference"), root.get("shellId"), root.get("inventoryStatus"),
+                root.get("rating"), root.get("createdAt"), root.get("updatedAt")));
+        if (filterPredicate != null) {
+            query.where(filterPredicate);
+        }
+        query.orderBy(cb.asc(root.get("id")));
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    private long count(Specification<Product> filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Product> root = query.from(Product.class);
+
+        Predicate filterPredicate = filter.toPredicate(root, query, cb);
+        query.select(cb.count(root));
+        if (filterPredicate != null) {
+            query.where(filterPredicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    // Nullable sorts are read as two seeks, non-null values by (field, id) and then the null tail by id, so each
+    // part is a plain range scan on the (field, id) index; a single NULLS LAST ordering would need an OR across both
+    @Override
+    public List<Product> findAllAfter(Specification<Product> filter, ProductSortField sort, ProductCursor after, int limit) {
+        if (!sort.isNullable()) {
+            return seek(filter, sort, after, limit);
+        }
+        if (after != null && after.value() == null) {
+            return seekNullTail(filter, sort, after.id(), limit);
+        }
+        List<Product> rows = seek(filter, sort, after, limit);
+        if (rows.size() == limit) {
+            return rows;
+        }
+        List<Product> withTail = new ArrayList<>(rows);
+        withTail.addAll(seekNullTail(filter, sort, null, limit - rows.size()));
+        return withTail;
+    }
+
+    private List<Product> seek(Specification<Product> filter, ProductSortField sort, ProductCursor after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Product> query = cb.createQuery(Product.class);
+        Root<Product> root = query.from(Product.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+        Predicate filterPredicate = filter.toPredicate(root, query, cb);
+        if (filterPredicate != null) {
+            predicates.add(filterPredicate);
+        }
+        if (sort.isNullable()) {
+            predicates.add(cb.isNotNull(root.get(sort.getProperty())));
+        }
+        if (after != null) {
+            predicates.add(after(cb, root, sort, after));
+        }
+
+        List<Order> orders = new ArrayList<>();
+        if (sort != ProductSortField.ID) {
+            orders.add(cb.asc(root.get(sort.getProperty())));
+        }
+        orders.add(cb.asc(root.get("id")));
+        query.select(root)
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(orders);
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private List<Product> seekNullTail(Specification<Product> filter, ProductSortField sort, Long afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Product> query = cb.createQuery(Product.class);
+        Root<Product> root = query.from(Product.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+        Predicate filterPredicate = filter.toPredicate(root, query, cb);
+        if (filterPredicate != null) {
+            predicates.add(filterPredicate);
+        }
+        predicates.add(cb.isNull(root.get(sort.getProperty())));
+        if (afterId != null) {
+            predicates.add(cb.greaterThan(root.get("id"), afterId));
+        }
+        query.select(root)
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.asc(root.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public List<ProductFacetRow> findFacetRows(Specification<Product> filter, double priceBucketWidth) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Product> root = query.from(Product.class);
+
+        Path<String> category = root.get("category");
+        Path<Product.InventoryStatus> inventoryStatus = root.get("inventoryStatus");
+        Path<Integer> rating = root.get("rating");
+        // A literal rather than a bind parameter: the database must see the same expression in SELECT and GROUP BY
+        Expression<Number> priceBucket = cb.floor(cb.quot(root.<Double>get("price"), cb.literal(priceBucketWidth)));
+
+        Predicate filterPredicate = filter.toPredicate(root, query, cb);
+        query.multiselect(category, inventoryStatus, rating, priceBucket, cb.count(root))
+                .groupBy(category, inventoryStatus, rating, priceBucket);
+        if (filterPredicate != null) {
+            query.where(filterPredicate);
+        }
+
+        return entityManager.createQuery(query).getResultList().stream()
+                .map(tuple -> new ProductFacetRow(
+                        tuple.get(0, String.class),
+                        tuple.get(1, Product.InventoryStatus.class),
+                        tuple.get(2, Integer.class),
+                        tuple.get(3) != null ? ((Number) tuple.get(3)).intValue() : null,
+                        tuple.get(4, Long.class)))
+                .toList();
+    }
+
+    // Seek past (value, id) instead of skipping rows, so every page costs one index range scan. The leading
+    // field >= value is implied by the OR but gives PostgreSQL the start key for the (field, id) index.
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Predicate after(CriteriaBuilder cb, Root<Product> root, ProductSortField sort, ProductCursor cursor) {
+        Path<Long> id = root.get("id");
+        if (sort == ProductSortField.ID) {
+            return cb.greaterThan(id, cursor.id());
+        }
+
+        Expression<Comparable> field = root.get(sort.getProperty());
+        Comparable value = cursor.value();
+        return cb.and(
+                cb.greaterThanOrEqualTo(field, value),
+                cb.or(
+                        cb.greaterThan(field, value),
+                        cb.and(cb.equal(field, value), cb.greaterThan(id, cursor.id()))));
+    }
+}
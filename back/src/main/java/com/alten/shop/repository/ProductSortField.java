@@ -0,0 +1,52 @@
+package com.alten.shop.repository;
+
+import com.alten.shop.entity.Product;
+
+import java.time.LocalDateTime;
+import java.util.function.Function;
+
+public enum ProductSortField {
+    ID("id", false, Product::getId, Long::valueOf),
+    NAME("name", false, Product::getName, value -> value),
+    PRICE("price", false, Product::getPrice, Double::valueOf),
+    RATING("rating", true, Product::getRating, Integer::valueOf),
+    CREATED_AT("createdAt", true, Product::getCreatedAt, LocalDateTime::parse);
+
+    private final String property;
+    private final boolean nullable;
+    private final Function<Product, Comparable<?>> getter;
+    private final Function<String, Comparable<?>> parser;
+
+    ProductSortField(String property, boolean nullable,
+                     Function<Product, Comparable<?>> getter, Function<String, Comparable<?>> parser) {
+        this.property = property;
+        this.nullable = nullable;
+        this.getter = getter;
+        this.parser = parser;
+    }
+
+    public static ProductSortField fromProperty(String property) {
+        for (ProductSortField field : values()) {
+            if (field.property.equals(property)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported sort field: " + property);
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public boolean isNullable() {
+        return nullable;
+    }
+
+    public Comparable<?> valueOf(Product product) {
+        return getter.apply(product);
+    }
+
+    public Comparable<?> parse(String value) {
+        return parser.apply(value);
+    }
+}
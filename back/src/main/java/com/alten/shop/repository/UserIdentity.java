@@ -0,0 +1,7 @@
+package com.alten.shop.repository;
+
+public interface UserIdentity {
+    String getEmail();
+
+    String getUsername();
+}
@@ -0,0 +1,11 @@
+package com.alten.shop.repository;
+
+import java.time.LocalDateTime;
+
+// One wishlisted product id, resolved through the product cache; productId is null for an empty wishlist
+public record WishlistProductRow(
+        Long wishlistId,
+        LocalDateTime wishlistUpdatedAt,
+        Long productId
+) {
+}
@@ -3,8 +3,11 @@ package com.alten.shop.repository;
 import com.alten.shop.entity.User;
 import com.alten.shop.entity.Wishlist;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -12,4 +15,8 @@ public interface WishlistRepository extends JpaRepository<Wishlist, Long> {
     Optional<Wishlist> findByUser(User user);
 
     Optional<Wishlist> findByUserId(Long userId);
+
+    @Query("select new com.alten.shop.repository.WishlistProductRow(w.id, w.updatedAt, p.id) " +
+            "from Wishlist w left join w.products p where w.user.id = :userId")
+    List<WishlistProductRow> findProductRowsByUserId(@Param("userId") Long userId);
 }
\ No newline at end of file
@@ -1,71 +1,130 @@
 package com.alten.shop.service;
 
 import com.alten.shop.config.JwtUtils;
+import com.alten.shop.config.UserPrincipal;
 import com.alten.shop.dto.request.AuthRequest;
 import com.alten.shop.dto.request.LoginRequest;
+import com.alten.shop.dto.request.RefreshRequest;
 import com.alten.shop.dto.response.AuthResponse;
 import com.alten.shop.dto.response.UserResponse;
 import com.alten.shop.entity.User;
 import com.alten.shop.repository.UserRepository;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import io.jsonwebtoken.JwtException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 @Service
 @Transactional
 public class AuthService {
 
-    private final AuthenticationManager authenticationManager;
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
+    private final UserDetailsServiceImpl userDetailsService;
+    private final RegistrationIndex registrationIndex;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationService tokenRevocationService;
     private final JwtUtils jwtUtils;
 
-    public AuthService(AuthenticationManager authenticationManager,
-                       UserRepository userRepository,
-                       PasswordEncoder passwordEncoder,
+    public AuthService(UserRepository userRepository,
+                       PasswordHashingService passwordHashingService,
+                       UserDetailsServiceImpl userDetailsService,
+                       RegistrationIndex registrationIndex,
+                       RefreshTokenService refreshTokenService,
+                       TokenRevocationService tokenRevocationService,
                        JwtUtils jwtUtils) {
-        this.authenticationManager = authenticationManager;
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingService = passwordHashingService;
+        this.userDetailsService = userDetailsService;
+        this.registrationIndex = registrationIndex;
+        this.refreshTokenService = refreshTokenService;
+        this.tokenRevocationService = tokenRevocationService;
         this.jwtUtils = jwtUtils;
     }
 
+    // Hashing runs on the password-hashing pool; no transaction is held open while waiting for it
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public AuthResponse register(AuthRequest request) {
-        if (userRepository.existsByEmail(request.email())) {
-            throw new RuntimeException("Error: Email is already in use!");
-        }
-
-        if (userRepository.existsByUsername(request.username())) {
-            throw new RuntimeException("Error: Username is already in use!");
+        if (registrationIndex.mightBeTaken(request.email(), request.username())) {
+            List<User> existing = userRepository.findByEmailOrUsername(request.email(), request.username());
+            if (existing.stream().anyMatch(u -> u.getEmail().equals(request.email()))) {
+                throw new RuntimeException("Error: Email is already in use!");
+            }
+            if (!existing.isEmpty()) {
+                throw new RuntimeException("Error: Username is already in use!");
+            }
         }
 
         User user = new User();
         user.setUsername(request.username());
         user.setFirstname(request.firstname());
         user.setEmail(request.email());
-        user.setPassword(passwordEncoder.encode(request.password()));
+        user.setPassword(passwordHashingService.encode(request.password()));
 
-        User savedUser = userRepository.save(user);
+        User savedUser;
+        try {
+            savedUser = userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            // Concurrent sign-ups or users created on another node: the unique constraints decide
+            throw new RuntimeException("Error: Email or username is already in use!");
+        }
+        registrationIndex.add(savedUser.getEmail(), savedUser.getUsername());
 
-        UserResponse userResponse = UserResponse.fromEntity(savedUser);
-        String jwt = jwtUtils.generateToken(savedUser);
-        return new AuthResponse(jwt, userResponse);
+        return issueTokens(principalOf(savedUser));
     }
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public AuthResponse login(LoginRequest request) {
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(request.email(), request.password())
-        );
+        User user = userRepository.findByEmail(request.email()).orElse(null);
+        String encodedPassword = user != null ? user.getPassword() : null;
+        if (!passwordHashingService.matches(request.password(), encodedPassword)) {
+            throw new BadCredentialsException("Bad credentials");
+        }
+
+        if (passwordHashingService.upgradeEncoding(encodedPassword)) {
+            user.setPassword(passwordHashingService.encode(request.password()));
+            user = userRepository.save(user);
+            userDetailsService.evictUser(user.getEmail());
+        }
+
+        return issueTokens(principalOf(user));
+    }
+
+    // Each store call commits on its own: a detected reuse must keep the family revoked even though
+    // rotate() then throws, which would roll back an enclosing transaction
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public AuthResponse refresh(RefreshRequest request) {
+        RefreshTokenService.RotatedToken rotated = refreshTokenService.rotate(request.refreshToken());
+        String jwt = jwtUtils.generateToken(rotated.principal());
+        return new AuthResponse(jwt, rotated.refreshToken(), UserResponse.fromPrincipal(rotated.principal()));
+    }
+
+    public void logout(String accessToken, String refreshToken) {
+        if (accessToken != null) {
+            try {
+                tokenRevocationService.revoke(jwtUtils.verify(accessToken));
+                // The revocation list is what rejects it from now on; its cached claims would only take up room
+                jwtUtils.evictVerified(accessToken);
+            } catch (JwtException e) {
+                // Invalid or expired tokens are already unusable
+            }
+        }
+        if (refreshToken != null && !refreshToken.isBlank()) {
+            refreshTokenService.revoke(refreshToken);
+        }
+    }
 
-        SecurityContextHolder.getContext().setAuthentication(authentication);
-        User user = (User) authentication.getPrincipal();
+    private AuthResponse issueTokens(UserPrincipal principal) {
+        String jwt = jwtUtils.generateToken(principal);
+        String refreshToken = refreshTokenService.issue(principal);
+        return new AuthResponse(jwt, refreshToken, UserResponse.fromPrincipal(principal));
+    }
 
-        UserResponse userResponse = UserResponse.fromEntity(user);
-        String jwt = jwtUtils.generateToken(user);
-        return new AuthResponse(jwt, userResponse);
+    private static UserPrincipal principalOf(User user) {
+        return new UserPrincipal(user.getId(), user.getEmail(), user.getUsername(), user.getFirstname(), null);
     }
 }
\ No newline at end of file
@@ -7,13 +7,16 @@ import com.alten.shop.entity.Cart;
 import com.alten.shop.entity.CartItem;
 import com.alten.shop.entity.Product;
 import com.alten.shop.entity.User;
+import com.alten.shop.repository.CartItemRow;
 import com.alten.shop.repository.CartRepository;
 import com.alten.shop.repository.ProductRepository;
 import com.alten.shop.repository.UserRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -23,19 +26,34 @@ public class CartService {
     private final CartRepository cartRepository;
     private final UserRepository userRepository;
     private final ProductRepository productRepository;
+    private final ProductCache productCache;
 
     public CartService(CartRepository cartRepository, UserRepository userRepository,
-                       ProductRepository productRepository) {
+                       ProductRepository productRepository, ProductCache productCache) {
         this.cartRepository = cartRepository;
         this.userRepository = userRepository;
         this.productRepository = productRepository;
+        this.productCache = productCache;
     }
 
+    // The projection runs in the repository's read-only transaction; only a user's first visit writes
+    @Transactional(propagation = Propagation.SUPPORTS)
     public CartResponse getCartByUserId(Long userId) {
-        Cart cart = cartRepository.findByUserId(userId)
-                .orElseGet(() -> createNewCart(userId));
+        List<CartItemRow> rows = cartRepository.findItemRowsByUserId(userId);
+        if (rows.isEmpty()) {
+            return mapToCartResponse(createNewCart(userId));
+        }
 
-        return mapToCartResponse(cart);
+        List<CartItemRow> itemRows = rows.stream().filter(row -> row.itemId() != null).toList();
+        Map<Long, ProductResponse> products = productCache.getAll(
+                itemRows.stream().map(CartItemRow::productId).toList());
+        // A product deleted since the rows were read drops out rather than rendering as an empty line
+        List<CartItemResponse> items = itemRows.stream()
+                .filter(row -> products.containsKey(row.productId()))
+                .map(row -> new CartItemResponse(row.itemId(), products.get(row.productId()), row.quantity()))
+                .toList();
+        CartItemRow first = rows.getFirst();
+        return new CartResponse(first.cartId(), items, first.cartUpdatedAt());
     }
 
     public CartResponse addToCart(Long userId, Long productId, Integer quantity) {
@@ -103,13 +121,19 @@ public class CartService {
         return cartRepository.save(newCart);
     }
 
+    // Product ids come off the (possibly uninitialized) proxies; the products themselves come from the cache
     private CartResponse mapToCartResponse(Cart cart) {
+        Map<Long, ProductResponse> products = productCache.getAll(
+                cart.getItems().stream().map(item -> item.getProduct().getId()).toList());
         List<CartItemResponse> items = cart.getItems().stream()
-                .map(item -> new CartItemResponse(
-                        item.getId(),
-                        ProductResponse.fromEntity(item.getProduct()),
-                        item.getQuantity()
-                ))
+                .map(item -> {
+                    ProductResponse product = products.get(item.getProduct().getId());
+                    return new CartItemResponse(
+                            item.getId(),
+                            product != null ? product : ProductResponse.fromEntity(item.getProduct()),
+                            item.getQuantity()
+                    );
+                })
                 .toList();
 
         return new CartResponse(cart.getId(), items, cart.getUpdatedAt());
@@ -0,0 +1,592 @@
+package com.alten.shop.service;
+
+import com.alten.shop.dto.response.ProductResponse;
+import com.alten.shop.entity.Product;
+import com.alten.shop.event.ProductChangedEvent;
+import com.alten.shop.repository.ProductCursor;
+import com.alten.shop.repository.ProductRepository;
+import com.alten.shop.repository.ProductSortField;
+import com.alten.shop.util.IntSorter;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+public class CatalogIndex {
+
+    private static final int LOAD_BATCH_SIZE = 1000;
+    private static final int REFRESH_STRIPES = 64;
+    private static final byte NO_RATING = -1;
+    private static final long NO_CREATED_AT = Long.MAX_VALUE;
+    private static final ProductSortField[] SORT_FIELDS = ProductSortField.values();
+    private static final Comparator<String> NAME_ORDER = Comparator.nullsLast(Comparator.naturalOrder());
+
+    private final ProductRepository productRepository;
+    private final ProductCache productCache;
+    private final boolean enabled;
+    private final Executor rebuilds;
+    private final Object loadLock = new Object();
+    // Bulk writes seen versus covered by the installed snapshot; queries go to the database while they differ
+    private final AtomicLong bulkWrites = new AtomicLong();
+    private volatile long loadedBulkWrites;
+    // Serializes the read-then-publish of one product without holding the index monitor during the query
+    private final Object[] refreshLocks = new Object[REFRESH_STRIPES];
+    // Immutable snapshot swapped on every write: readers never lock and never see a half-applied change
+    private volatile Map<String, Segment> segments;
+    // Non-null while load() reads the catalog; guarded by this
+    private Set<Long> changedDuringLoad;
+
+    @Autowired
+    public CatalogIndex(ProductRepository productRepository,
+                        ProductCache productCache,
+                        @Value("${app.catalog.index.enabled:false}") boolean enabled) {
+        // One rebuild runs and at most one waits: it starts after every bulk write that queued behind it
+        this(productRepository, productCache, enabled, new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(1), new CustomizableThreadFactory("catalog-index-"),
+                new ThreadPoolExecutor.DiscardPolicy()));
+    }
+
+    CatalogIndex(ProductRepository productRepository, ProductCache productCache, boolean enabled, Executor rebuilds) {
+        this.productRepository = productRepository;
+        this.productCache = productCache;
+        this.enabled = enabled;
+        this.rebuilds = rebuilds;
+        Arrays.setAll(refreshLocks, stripe -> new Object());
+    }
+
+    public boolean isAvailable() {
+        return enabled && segments != null && loadedBulkWrites == bulkWrites.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (rebuilds instanceof ExecutorService executor) {
+            executor.shutdown();
+        }
+    }
+
+    // Queries keep running against the previous snapshot until the new one is swapped in
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        synchronized (loadLock) {
+            long covered = bulkWrites.get();
+            synchronized (this) {
+                changedDuringLoad = new HashSet<>();
+            }
+            // Only the sort and filter columns are kept from each batch; the entities go as soon as it is read
+            List<Row> rows = new ArrayList<>();
+            ProductCursor cursor = null;
+            List<Product> batch;
+            do {
+                batch = productRepository.findAllAfter((root, query, cb) -> null, ProductSortField.ID, cursor, LOAD_BATCH_SIZE);
+                for (Product product : batch) {
+                    rows.add(Row.of(ProductResponse.fromEntity(product)));
+                }
+                if (!batch.isEmpty()) {
+                    cursor = ProductCursor.of(ProductSortField.ID, batch.getLast());
+                }
+            } while (batch.size() == LOAD_BATCH_SIZE);
+
+            Map<String, Segment> rebuilt = build(rows);
+            Set<Long> changed;
+            synchronized (this) {
+                changed = changedDuringLoad;
+                changedDuringLoad = null;
+                segments = rebuilt;
+            }
+            loadedBulkWrites = covered;
+            // Writes committed while the batches were read may be missing from them, or older than the event
+            changed.forEach(this::refresh);
+        }
+    }
+
+    public void replaceAll(Collection<ProductResponse> products) {
+        Map<String, Segment> rebuilt = build(products.stream().map(Row::of).toList());
+        synchronized (this) {
+            segments = rebuilt;
+        }
+    }
+
+    private static Map<String, Segment> build(List<Row> rows) {
+        Map<String, List<Row>> byCategory = new HashMap<>();
+        for (Row row : rows) {
+            byCategory.computeIfAbsent(row.category(), category -> new ArrayList<>()).add(row);
+        }
+        Map<String, Segment> rebuilt = new HashMap<>();
+        byCategory.forEach((category, categoryRows) -> rebuilt.put(category, Segment.of(categoryRows)));
+        return Collections.unmodifiableMap(rebuilt);
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        switch (event.type()) {
+            case BULK -> {
+                // Rebuilding reads the whole catalog, which the writer's thread should not wait for
+                bulkWrites.incrementAndGet();
+                rebuilds.execute(this::load);
+            }
+            case DELETED -> remove(event.productId());
+            case CREATED, UPDATED -> refresh(event.productId());
+        }
+    }
+
+    // Read and publish happen under the product's stripe, so the last event applied for a product also read its
+    // latest row; the index monitor is only taken to publish, so a slow query never holds up other writes
+    private void refresh(Long productId) {
+        synchronized (refreshLocks[Math.floorMod(Long.hashCode(productId), REFRESH_STRIPES)]) {
+            productRepository.findResponseById(productId)
+                    .ifPresentOrElse(this::put, () -> remove(productId));
+        }
+    }
+
+    // Writes patch the affected segment's permutations in place of a rebuild: O(category size) array copies,
+    // O(log n) comparisons per sort order
+    public synchronized void put(ProductResponse product) {
+        if (changedDuringLoad != null) {
+            changedDuringLoad.add(product.id());
+        }
+        if (segments == null) {
+            return;
+        }
+        Row row = Row.of(product);
+        Map<String, Segment> next = without(segments, row.id());
+        Segment segment = next.get(row.category());
+        next.put(row.category(), segment != null ? segment.with(row) : Segment.of(List.of(row)));
+        segments = Collections.unmodifiableMap(next);
+    }
+
+    public synchronized void remove(Long productId) {
+        if (changedDuringLoad != null) {
+            changedDuringLoad.add(productId);
+        }
+        if (segments == null) {
+            return;
+        }
+        segments = Collections.unmodifiableMap(without(segments, productId));
+    }
+
+    private static Map<String, Segment> without(Map<String, Segment> current, Long productId) {
+        Map<String, Segment> next = new HashMap<>(current);
+        for (Map.Entry<String, Segment> entry : current.entrySet()) {
+            int row = entry.getValue().find(productId);
+            if (row >= 0) {
+                Segment rest = entry.getValue().without(row);
+                if (rest != null) {
+                    next.put(entry.getKey(), rest);
+                } else {
+                    next.remove(entry.getKey());
+                }
+            }
+        }
+        return next;
+    }
+
+    // Empty when the request needs something the index cannot answer (multi-column or descending sorts).
+    // The index only picks the page's ids; their rows come from ProductCache, in the list shape.
+    public Optional<Page<ProductResponse>> query(Optional<String> category, Optional<Double> minPrice,
+                                                 Optional<Double> maxPrice, Pageable pageable) {
+        ProductSortField sort = sortField(pageable.getSort());
+        if (sort == null || pageable.isUnpaged()) {
+            return Optional.empty();
+        }
+        Map<String, Segment> current = segments;
+        if (current == null) {
+            return Optional.empty();
+        }
+        double low = minPrice.orElse(Double.NEGATIVE_INFINITY);
+        double high = maxPrice.orElse(Double.POSITIVE_INFINITY);
+
+        List<Segment> selected = new ArrayList<>();
+        if (category.isPresent()) {
+            Segment segment = current.get(category.get());
+            if (segment != null) {
+                selected.add(segment);
+            }
+        } else {
+            selected.addAll(current.values());
+        }
+
+        long total = 0;
+        for (Segment segment : selected) {
+            total += segment.count(low, high);
+        }
+        List<Long> ids = page(selected, sort, low, high, pageable.getOffset(), pageable.getPageSize());
+        return Optional.of(new PageImpl<>(products(ids), pageable, total));
+    }
+
+    // Keeps the index order; a product deleted since the snapshot was taken is left out
+    private List<ProductResponse> products(List<Long> ids) {
+        Map<Long, ProductResponse> productsById = productCache.getAll(ids);
+        List<ProductResponse> products = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            ProductResponse product = productsById.get(id);
+            if (product != null) {
+                products.add(product.withoutDescription());
+            }
+        }
+        return products;
+    }
+
+    private static ProductSortField sortField(Sort sort) {
+        if (sort.isUnsorted()) {
+            return ProductSortField.ID;
+        }
+        List<Sort.Order> orders = sort.toList();
+        if (orders.size() != 1 || !orders.getFirst().isAscending()) {
+            return null;
+        }
+        try {
+            return ProductSortField.fromProperty(orders.getFirst().getProperty());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static List<Long> page(List<Segment> segments, ProductSortField sort,
+                                   double low, double high, long offset, int limit) {
+        List<Long> content = new ArrayList<>(limit);
+        if (segments.size() == 1) {
+            Segment segment = segments.getFirst();
+            Segment.Matches matches = segment.matches(sort, low, high);
+            long skipped = 0;
+            while (skipped < offset && matches.next() >= 0) {
+                skipped++;
+            }
+            int row;
+            while (content.size() < limit && (row = matches.next()) >= 0) {
+                content.add(segment.ids[row]);
+            }
+            return content;
+        }
+
+        // k-way merge of the per-category orderings; only offset + limit rows are ever touched
+        PriorityQueue<Head> heads = new PriorityQueue<>(
+                (a, b) -> Segment.compare(sort, a.segment, a.row, b.segment, b.row));
+        for (Segment segment : segments) {
+            Head head = new Head(segment, segment.matches(sort, low, high));
+            if (head.advance()) {
+                heads.add(head);
+            }
+        }
+        long position = 0;
+        while (!heads.isEmpty() && content.size() < limit) {
+            Head head = heads.poll();
+            if (position++ >= offset) {
+                content.add(head.segment.ids[head.row]);
+            }
+            if (head.advance()) {
+                heads.add(head);
+            }
+        }
+        return content;
+    }
+
+    // The columns a segment keeps for one product; everything else is read through ProductCache per page
+    private record Row(long id, String category, String name, double price, byte rating, long createdAt) {
+        static Row of(ProductResponse product) {
+            return new Row(product.id(), product.category(), product.name(),
+                    product.price() != null ? product.price() : Double.NaN,
+                    product.rating() != null ? product.rating().byteValue() : NO_RATING,
+                    createdAt(product.createdAt()));
+        }
+
+        // Microseconds since the epoch, the precision the database keeps; missing dates sort last
+        private static long createdAt(LocalDateTime createdAt) {
+            if (createdAt == null) {
+                return NO_CREATED_AT;
+            }
+            return createdAt.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + createdAt.getNano() / 1_000;
+        }
+    }
+
+    private static final class Head {
+        private final Segment segment;
+        private final Segment.Matches matches;
+        private int row;
+
+        Head(Segment segment, Segment.Matches matches) {
+            this.segment = segment;
+            this.matches = matches;
+        }
+
+        boolean advance() {
+            row = matches.next();
+            return row >= 0;
+        }
+    }
+
+    // Immutable: a write produces a patched copy, so a reader keeps a consistent segment for its whole query.
+    // Columns only: ids, the sort keys and prices, no product text beyond the name.
+    static final class Segment {
+        final long[] ids;
+        final String[] names;
+        final double[] prices;
+        final byte[] ratings;
+        final long[] createdAts;
+        final int[][] orders;
+
+        private Segment(long[] ids, String[] names, double[] prices, byte[] ratings, long[] createdAts,
+                        int[][] orders) {
+            this.ids = ids;
+            this.names = names;
+            this.prices = prices;
+            this.ratings = ratings;
+            this.createdAts = createdAts;
+            this.orders = orders;
+        }
+
+        static Segment of(List<Row> rows) {
+            int size = rows.size();
+            long[] ids = new long[size];
+            String[] names = new String[size];
+            double[] prices = new double[size];
+            byte[] ratings = new byte[size];
+            long[] createdAts = new long[size];
+            for (int i = 0; i < size; i++) {
+                Row row = rows.get(i);
+                ids[i] = row.id();
+                names[i] = row.name();
+                prices[i] = row.price();
+                ratings[i] = row.rating();
+                createdAts[i] = row.createdAt();
+            }
+            Segment segment = new Segment(ids, names, prices, ratings, createdAts, new int[SORT_FIELDS.length][]);
+            for (ProductSortField sort : SORT_FIELDS) {
+                int[] order = new int[size];
+                for (int i = 0; i < size; i++) {
+                    order[i] = i;
+                }
+                IntSorter.sort(order, (a, b) -> segment.compare(sort, a, b));
+                segment.orders[sort.ordinal()] = order;
+            }
+            return segment;
+        }
+
+        // Appends the row and binary-inserts its position into every permutation
+        Segment with(Row added) {
+            int row = ids.length;
+            long[] grownIds = Arrays.copyOf(ids, row + 1);
+            String[] grownNames = Arrays.copyOf(names, row + 1);
+            double[] grownPrices = Arrays.copyOf(prices, row + 1);
+            byte[] grownRatings = Arrays.copyOf(ratings, row + 1);
+            long[] grownCreatedAts = Arrays.copyOf(createdAts, row + 1);
+            grownIds[row] = added.id();
+            grownNames[row] = added.name();
+            grownPrices[row] = added.price();
+            grownRatings[row] = added.rating();
+            grownCreatedAts[row] = added.createdAt();
+
+            Segment grown = new Segment(grownIds, grownNames, grownPrices, grownRatings, grownCreatedAts,
+                    new int[SORT_FIELDS.length][]);
+            for (ProductSortField sort : SORT_FIELDS) {
+                int[] order = orders[sort.ordinal()];
+                int from = 0;
+                int to = order.length;
+                while (from < to) {
+                    int mid = (from + to) >>> 1;
+                    if (grown.compare(sort, order[mid], row) < 0) {
+                        from = mid + 1;
+                    } else {
+                        to = mid;
+                    }
+                }
+                int[] inserted = new int[order.length + 1];
+                System.arraycopy(order, 0, inserted, 0, from);
+                inserted[from] = row;
+                System.arraycopy(order, from, inserted, from + 1, order.length - from);
+                grown.orders[sort.ordinal()] = inserted;
+            }
+            return grown;
+        }
+
+        // Drops the row and renumbers the rows after it; null when nothing is left
+        Segment without(int row) {
+            int size = ids.length - 1;
+            if (size == 0) {
+                return null;
+            }
+            long[] keptIds = new long[size];
+            String[] keptNames = new String[size];
+            double[] keptPrices = new double[size];
+            byte[] keptRatings = new byte[size];
+            long[] keptCreatedAts = new long[size];
+            removeAt(ids, keptIds, row, size);
+            removeAt(names, keptNames, row, size);
+            removeAt(prices, keptPrices, row, size);
+            removeAt(ratings, keptRatings, row, size);
+            removeAt(createdAts, keptCreatedAts, row, size);
+
+            int[][] keptOrders = new int[SORT_FIELDS.length][];
+            for (int sort = 0; sort < orders.length; sort++) {
+                int[] kept = new int[size];
+                int position = 0;
+                for (int candidate : orders[sort]) {
+                    if (candidate != row) {
+                        kept[position++] = candidate > row ? candidate - 1 : candidate;
+                    }
+                }
+                keptOrders[sort] = kept;
+            }
+            return new Segment(keptIds, keptNames, keptPrices, keptRatings, keptCreatedAts, keptOrders);
+        }
+
+        // Row position of the product, found through the id permutation; -1 when absent
+        int find(long productId) {
+            int[] byId = orders[ProductSortField.ID.ordinal()];
+            int from = 0;
+            int to = byId.length - 1;
+            while (from <= to) {
+                int mid = (from + to) >>> 1;
+                long id = ids[byId[mid]];
+                if (id < productId) {
+                    from = mid + 1;
+                } else if (id > productId) {
+                    to = mid - 1;
+                } else {
+                    return byId[mid];
+                }
+            }
+            return -1;
+        }
+
+        int compare(ProductSortField sort, int a, int b) {
+            return compare(sort, this, a, this, b);
+        }
+
+        // Ascending by the sort column with missing values last, then by id; rows may sit in different segments
+        static int compare(ProductSortField sort, Segment left, int a, Segment right, int b) {
+            int result = switch (sort) {
+                case ID -> 0;
+                case PRICE -> Double.compare(left.prices[a], right.prices[b]);
+                case RATING -> Integer.compare(left.ratingKey(a), right.ratingKey(b));
+                case NAME -> NAME_ORDER.compare(left.names[a], right.names[b]);
+                case CREATED_AT -> Long.compare(left.createdAts[a], right.createdAts[b]);
+            };
+            return result != 0 ? result : Long.compare(left.ids[a], right.ids[b]);
+        }
+
+        private static void removeAt(Object source, Object target, int index, int remaining) {
+            System.arraycopy(source, 0, target, 0, index);
+            System.arraycopy(source, index + 1, target, index, remaining - index);
+        }
+
+        private int ratingKey(int row) {
+            return ratings[row] == NO_RATING ? Integer.MAX_VALUE : ratings[row];
+        }
+
+        int count(double low, double high) {
+            if (low == Double.NEGATIVE_INFINITY && high == Double.POSITIVE_INFINITY) {
+                return ids.length;
+            }
+            return Math.max(0, upperBound(high) - lowerBound(low));
+        }
+
+        Matches matches(ProductSortField sort, double low, double high) {
+            if (sort == ProductSortField.PRICE && (low != Double.NEGATIVE_INFINITY || high != Double.POSITIVE_INFINITY)) {
+                // The price permutation turns the range filter into a contiguous slice
+                return new Matches(orders[sort.ordinal()], lowerBound(low), upperBound(high), Double.NEGATIVE_INFINITY,
+                        Double.POSITIVE_INFINITY);
+            }
+            return new Matches(orders[sort.ordinal()], 0, ids.length, low, high);
+        }
+
+        private int lowerBound(double low) {
+            int[] byPrice = orders[ProductSortField.PRICE.ordinal()];
+            int from = 0;
+            int to = byPrice.length;
+            while (from < to) {
+                int mid = (from + to) >>> 1;
+                if (prices[byPrice[mid]] < low) {
+                    from = mid + 1;
+                } else {
+                    to = mid;
+                }
+            }
+            return from;
+        }
+
+        private int upperBound(double high) {
+            int[] byPrice = orders[ProductSortField.PRICE.ordinal()];
+            int from = 0;
+            int to = byPrice.length;
+            while (from < to) {
+                int mid = (from + to) >>> 1;
+                // NaN (missing price) sorts last and fails the comparison, so it never matches a price filter
+                if (prices[byPrice[mid]] <= high) {
+                    from = mid + 1;
+                } else {
+                    to = mid;
+                }
+            }
+            return from;
+        }
+
+        final class Matches {
+            private final int[] order;
+            private final int end;
+            private final double low;
+            private final double high;
+            private final boolean filtered;
+            private int position;
+
+            Matches(int[] order, int start, int end, double low, double high) {
+                this.order = order;
+                this.position = start;
+                this.end = end;
+                this.low = low;
+                this.high = high;
+                this.filtered = low != Double.NEGATIVE_INFINITY || high != Double.POSITIVE_INFINITY;
+            }
+
+            int next() {
+                while (position < end) {
+                    int row = order[position++];
+                    if (!filtered || (prices[row] >= low && prices[row] <= high)) {
+                        return row;
+                    }
+                }
+                return -1;
+            }
+        }
+    }
+}
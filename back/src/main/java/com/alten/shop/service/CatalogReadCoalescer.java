@@ -0,0 +1,68 @@
+package com.alten.shop.service;
+
+import com.alten.shop.event.ProductChangedEvent;
+import com.alten.shop.exception.ServiceUnavailableException;
+import com.alten.shop.util.SingleFlight;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+// Collapses identical concurrent catalog reads into one query, so an expiring hot entry costs one load, not hundreds
+@Component
+public class CatalogReadCoalescer {
+
+    private final SingleFlight<Object, Object> flights = new SingleFlight<>();
+    private final boolean enabled;
+    private final Duration maxWait;
+    private final Counter timeouts;
+
+    public CatalogReadCoalescer(MeterRegistry meterRegistry,
+                                @Value("${app.catalog.coalescing.enabled:true}") boolean enabled,
+                                @Value("${app.catalog.coalescing.max-wait:2s}") Duration maxWait) {
+        this.enabled = enabled;
+        this.maxWait = maxWait;
+        FunctionCounter.builder("catalog.reads.coalesced", flights, SingleFlight::collapsedCount)
+                .description("Catalog reads answered by another caller's in-flight query")
+                .register(meterRegistry);
+        Gauge.builder("catalog.reads.in_flight", flights, SingleFlight::inFlightCount)
+                .register(meterRegistry);
+        this.timeouts = Counter.builder("catalog.reads.coalesce_timeouts")
+                .description("Callers that gave up waiting for an in-flight catalog read")
+                .register(meterRegistry);
+    }
+
+    // Keys are per-operation records, so an equal key always means an equal result type
+    @SuppressWarnings("unchecked")
+    public <V> V execute(Record key, Supplier<V> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        try {
+            return (V) flights.execute(key, loader::get, maxWait);
+        } catch (TimeoutException e) {
+            timeouts.increment();
+            throw new ServiceUnavailableException("The product catalog is busy, please retry", Duration.ofSeconds(1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Interrupted while waiting for the product catalog",
+                    Duration.ofSeconds(1));
+        }
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        flights.forgetAll();
+    }
+}
@@ -0,0 +1,94 @@
+package com.alten.shop.service;
+
+import com.alten.shop.event.ProductChangedEvent;
+import com.alten.shop.repository.CatalogStamp;
+import com.alten.shop.repository.ProductRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
+
+// Changes whenever the catalog may have changed; list ETags and Last-Modified are derived from it
+@Component
+public class CatalogVersion {
+
+    private final ProductRepository productRepository;
+    private volatile State state;
+
+    public CatalogVersion(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    // Moves last, once the caches and indexes have dropped or patched what the write changed: a reader that sees
+    // the new version, and caches under it, can no longer be handed data from before the write
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        refresh();
+    }
+
+    // Catches writes made on other nodes, which never reach this node's event listeners
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.catalog.version-check-interval-ms:30000}",
+            initialDelayString = "${app.catalog.version-check-interval-ms:30000}")
+    public void checkForExternalWrites() {
+        refresh();
+    }
+
+    // Local counter for in-process caches; it means nothing to another node
+    public long version() {
+        return current().version();
+    }
+
+    // Both validators come from one state, so a response never pairs an ETag with another version's date
+    public Validators validators() {
+        State current = current();
+        return new Validators(current.etag(), current.lastModified().toEpochMilli());
+    }
+
+    private State current() {
+        State current = state;
+        return current != null ? current : refresh();
+    }
+
+    // The ETag is a hash of the database stamp, so every node hands out the same tag for the same catalog
+    // and a client keeps its 304s across nodes and restarts.
+    // Last-Modified only has one-second resolution, so the ETag is what tells same-second writes apart.
+    private synchronized State refresh() {
+        CatalogStamp current = productRepository.findCatalogStamp();
+        String stamp = current.getCount() + "@" + current.getLastUpdated();
+        State seen = state;
+        if (seen == null || !stamp.equals(seen.stamp())) {
+            seen = new State(seen != null ? seen.version() + 1 : 0, Instant.now().truncatedTo(ChronoUnit.SECONDS),
+                    stamp, "\"catalog-" + hash(stamp) + "\"");
+            state = seen;
+        }
+        return seen;
+    }
+
+    private static String hash(String stamp) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(stamp.getBytes(StandardCharsets.UTF_8)), 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    public record Validators(String etag, long lastModified) {
+    }
+
+    private record State(long version, Instant lastModified, String stamp, String etag) {
+    }
+}
@@ -0,0 +1,76 @@
+package com.alten.shop.service;
+
+import com.alten.shop.config.UserPrincipal;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+@ConditionalOnProperty(name = "app.jwt.refresh.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryRefreshTokenStore implements RefreshTokenStore {
+
+    private final Map<String, Entry> tokens = new ConcurrentHashMap<>();
+    // Token hashes per family, so revoking one touches only its own tokens. A family's set is only read or
+    // changed inside a compute on its key, which also orders a save against a revoke of the same family.
+    private final Map<String, Set<String>> families = new ConcurrentHashMap<>();
+
+    @Override
+    public void save(String tokenHash, String familyId, UserPrincipal principal, Instant expiresAt) {
+        families.compute(familyId, (id, hashes) -> {
+            Set<String> members = hashes != null ? hashes : new HashSet<>();
+            members.add(tokenHash);
+            tokens.put(tokenHash, new Entry(familyId, principal, expiresAt, false));
+            return members;
+        });
+    }
+
+    @Override
+    public Optional<StoredRefreshToken> consume(String tokenHash) {
+        Entry[] previous = new Entry[1];
+        tokens.computeIfPresent(tokenHash, (hash, entry) -> {
+            previous[0] = entry;
+            return entry.used() ? entry : new Entry(entry.familyId(), entry.principal(), entry.expiresAt(), true);
+        });
+        Entry entry = previous[0];
+        if (entry == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new StoredRefreshToken(entry.familyId(), entry.principal(), entry.expiresAt(), entry.used()));
+    }
+
+    @Override
+    public Optional<String> findFamily(String tokenHash) {
+        return Optional.ofNullable(tokens.get(tokenHash)).map(Entry::familyId);
+    }
+
+    @Override
+    public void revokeFamily(String familyId) {
+        families.computeIfPresent(familyId, (id, hashes) -> {
+            hashes.forEach(tokens::remove);
+            return null;
+        });
+    }
+
+    @Override
+    public void purgeExpired(Instant now) {
+        tokens.forEach((tokenHash, entry) -> {
+            if (entry.expiresAt().isBefore(now)) {
+                families.computeIfPresent(entry.familyId(), (id, hashes) -> {
+                    if (tokens.remove(tokenHash) != null) {
+                        hashes.remove(tokenHash);
+                    }
+                    return hashes.isEmpty() ? null : hashes;
+                });
+            }
+        });
+    }
+
+    private record Entry(String familyId, UserPrincipal principal, Instant expiresAt, boolean used) {
+    }
+}
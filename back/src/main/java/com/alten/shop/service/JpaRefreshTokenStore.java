@@ -0,0 +1,65 @@
+package com.alten.shop.service;
+
+import com.alten.shop.config.UserPrincipal;
+import com.alten.shop.entity.RefreshToken;
+import com.alten.shop.entity.User;
+import com.alten.shop.repository.RefreshTokenRepository;
+import com.alten.shop.repository.UserRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Optional;
+
+@Component
+@ConditionalOnProperty(name = "app.jwt.refresh.store", havingValue = "jpa")
+@Transactional
+public class JpaRefreshTokenStore implements RefreshTokenStore {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+
+    public JpaRefreshTokenStore(RefreshTokenRepository refreshTokenRepository, UserRepository userRepository) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.userRepository = userRepository;
+    }
+
+    @Override
+    public void save(String tokenHash, String familyId, UserPrincipal principal, Instant expiresAt) {
+        RefreshToken token = new RefreshToken();
+        token.setTokenHash(tokenHash);
+        token.setFamilyId(familyId);
+        token.setUser(userRepository.getReferenceById(principal.getId()));
+        token.setExpiresAt(expiresAt);
+        refreshTokenRepository.save(token);
+    }
+
+    @Override
+    public Optional<StoredRefreshToken> consume(String tokenHash) {
+        return refreshTokenRepository.findByTokenHash(tokenHash)
+                .map(token -> {
+                    boolean reused = refreshTokenRepository.markUsed(tokenHash) == 0;
+                    User user = token.getUser();
+                    UserPrincipal principal = new UserPrincipal(
+                            user.getId(), user.getEmail(), user.getUsername(), user.getFirstname(), null);
+                    return new StoredRefreshToken(token.getFamilyId(), principal, token.getExpiresAt(), reused);
+                });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<String> findFamily(String tokenHash) {
+        return refreshTokenRepository.findByTokenHash(tokenHash).map(RefreshToken::getFamilyId);
+    }
+
+    @Override
+    public void revokeFamily(String familyId) {
+        refreshTokenRepository.deleteByFamilyId(familyId);
+    }
+
+    @Override
+    public void purgeExpired(Instant now) {
+        refreshTokenRepository.deleteExpired(now);
+    }
+}
@@ -0,0 +1,112 @@
+package com.alten.shop.service;
+
+import com.alten.shop.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+
+@Service
+public class PasswordHashingService {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final Timer encodeTimer;
+    private final Timer matchTimer;
+    private final Duration maxWait;
+    private final Duration retryAfter;
+    private volatile String unknownUserPassword;
+
+    @Autowired
+    public PasswordHashingService(PasswordEncoder passwordEncoder,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${app.security.password-hashing.threads:4}") int threads,
+                                  @Value("${app.security.password-hashing.queue-capacity:64}") int queueCapacity,
+                                  @Value("${app.security.password-hashing.max-wait:5s}") Duration maxWait,
+                                  @Value("${app.security.password-hashing.retry-after:2s}") Duration retryAfter) {
+        this(passwordEncoder, meterRegistry, threads, new ArrayBlockingQueue<>(queueCapacity), maxWait, retryAfter);
+    }
+
+    PasswordHashingService(PasswordEncoder passwordEncoder, MeterRegistry meterRegistry, int threads,
+                           BlockingQueue<Runnable> workQueue, Duration maxWait, Duration retryAfter) {
+        this.passwordEncoder = passwordEncoder;
+        this.maxWait = maxWait;
+        this.retryAfter = retryAfter;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, workQueue,
+                new CustomizableThreadFactory("password-hashing-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        new ExecutorServiceMetrics(executor, "password-hashing", Tags.empty()).bindTo(meterRegistry);
+        this.encodeTimer = Timer.builder("auth.password.hashing")
+                .tag("operation", "encode")
+                .register(meterRegistry);
+        this.matchTimer = Timer.builder("auth.password.hashing")
+                .tag("operation", "matches")
+                .register(meterRegistry);
+    }
+
+    public String encode(CharSequence rawPassword) {
+        return submit(encodeTimer, () -> passwordEncoder.encode(rawPassword));
+    }
+
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        // Unknown users are checked against a throwaway hash so both paths cost the same
+        String target = encodedPassword != null ? encodedPassword : unknownUserPassword();
+        boolean matches = submit(matchTimer, () -> passwordEncoder.matches(rawPassword, target));
+        return encodedPassword != null && matches;
+    }
+
+    public boolean upgradeEncoding(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private String unknownUserPassword() {
+        String password = unknownUserPassword;
+        if (password == null) {
+            password = encode("userNotFoundPassword");
+            unknownUserPassword = password;
+        }
+        return password;
+    }
+
+    private <T> T submit(Timer timer, Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> timer.recordCallable(task));
+        } catch (RejectedExecutionException e) {
+            throw unavailable();
+        }
+
+        try {
+            return future.get(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw unavailable();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw unavailable();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private ServiceUnavailableException unavailable() {
+        return new ServiceUnavailableException("Authentication is temporarily overloaded, please retry later", retryAfter);
+    }
+}
@@ -0,0 +1,138 @@
+package com.alten.shop.service;
+
+import com.alten.shop.dto.response.ProductResponse;
+import com.alten.shop.event.ProductChangedEvent;
+import com.alten.shop.repository.ProductRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Product detail responses by id. Caffeine's W-TinyLFU admission keeps a one-off crawl of the catalog
+// from pushing out the products that take most of the traffic.
+@Component
+public class ProductCache {
+
+    private final ProductRepository productRepository;
+    private final Cache<Long, ProductResponse> cache;
+    // Bulk loads only store their rows under the read lock and if no invalidation (write lock) happened meanwhile
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile long generation;
+
+    public ProductCache(ProductRepository productRepository,
+                        MeterRegistry meterRegistry,
+                        @Value("${app.catalog.product-cache.enabled:true}") boolean enabled,
+                        @Value("${app.catalog.product-cache.maximum-size:10000}") long maximumSize,
+                        @Value("${app.catalog.product-cache.ttl:10m}") Duration ttl) {
+        this.productRepository = productRepository;
+        if (enabled) {
+            this.cache = Caffeine.newBuilder()
+                    .maximumSize(maximumSize)
+                    .expireAfterWrite(ttl)
+                    .recordStats()
+                    .build();
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, "products");
+        } else {
+            this.cache = null;
+        }
+    }
+
+    public Optional<ProductResponse> get(Long id) {
+        if (cache == null) {
+            return productRepository.findResponseById(id);
+        }
+        // A missing product is not cached: the mapping function returns null and the next call asks again
+        return Optional.ofNullable(cache.get(id, key -> productRepository.findResponseById(key).orElse(null)));
+    }
+
+    public Optional<ProductResponse> getIfPresent(Long id) {
+        return cache != null ? Optional.ofNullable(cache.getIfPresent(id)) : Optional.empty();
+    }
+
+    // Hits are served from memory, all misses are loaded together with one IN query; unknown ids are left out.
+    // Caffeine's bulk load is not atomic with invalidate, so a product written while the query runs could be
+    // cached with its old row: the loaded rows are only kept if no invalidation happened since the query started.
+    public Map<Long, ProductResponse> getAll(Collection<Long> ids) {
+        Set<Long> distinctIds = new LinkedHashSet<>(ids);
+        if (cache == null) {
+            return load(distinctIds);
+        }
+        Map<Long, ProductResponse> products = new HashMap<>(cache.getAllPresent(distinctIds));
+        if (products.size() == distinctIds.size()) {
+            return products;
+        }
+        Set<Long> missing = new LinkedHashSet<>(distinctIds);
+        missing.removeAll(products.keySet());
+
+        long seen = generation;
+        Map<Long, ProductResponse> loaded = load(missing);
+        products.putAll(loaded);
+        lock.readLock().lock();
+        try {
+            if (generation == seen) {
+                cache.putAll(loaded);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return products;
+    }
+
+    public void invalidate(Long id) {
+        if (cache != null) {
+            invalidate(() -> cache.invalidate(id));
+        }
+    }
+
+    // Writers also invalidate synchronously; doing it again after commit drops a stale copy that a concurrent
+    // reader may have loaded between the write and its commit
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (cache == null) {
+            return;
+        }
+        if (event.type() == ProductChangedEvent.Type.BULK) {
+            invalidate(cache::invalidateAll);
+        } else {
+            invalidate(() -> cache.invalidate(event.productId()));
+        }
+    }
+
+    private void invalidate(Runnable invalidation) {
+        lock.writeLock().lock();
+        try {
+            generation++;
+            invalidation.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Map<Long, ProductResponse> load(Set<? extends Long> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, ProductResponse> products = new HashMap<>();
+        for (ProductResponse product : productRepository.findResponsesByIdIn(Set.copyOf(ids))) {
+            products.put(product.id(), product);
+        }
+        return products;
+    }
+}
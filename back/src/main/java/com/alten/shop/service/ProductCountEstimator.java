@@ -0,0 +1,106 @@
+package com.alten.shop.service;
+
+import com.alten.shop.event.ProductChangedEvent;
+import com.alten.shop.repository.CategoryStatistics;
+import com.alten.shop.repository.ProductRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+public class ProductCountEstimator {
+
+    private final ProductRepository productRepository;
+    private final Map<String, CategoryCount> counts = new ConcurrentHashMap<>();
+
+    public ProductCountEstimator(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.catalog.count-refresh-interval-ms:300000}",
+            initialDelayString = "${app.catalog.count-refresh-interval-ms:300000}")
+    public void refresh() {
+        List<CategoryStatistics> statistics = productRepository.findCategoryStatistics();
+        Map<String, CategoryCount> fresh = new ConcurrentHashMap<>();
+        for (CategoryStatistics row : statistics) {
+            fresh.put(row.getCategory(), new CategoryCount(row.getCount(),
+                    row.getMinPrice() != null ? row.getMinPrice() : 0, row.getMaxPrice() != null ? row.getMaxPrice() : 0));
+        }
+        counts.keySet().retainAll(fresh.keySet());
+        counts.putAll(fresh);
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        switch (event.type()) {
+            case CREATED -> adjust(event.category(), 1);
+            case DELETED -> adjust(event.previousCategory(), -1);
+            case UPDATED -> {
+                if (event.previousCategory() != null && !event.previousCategory().equals(event.category())) {
+                    adjust(event.previousCategory(), -1);
+                    adjust(event.category(), 1);
+                }
+            }
+            case BULK -> refresh();
+        }
+    }
+
+    // Category counts are kept exact between refreshes; price filters assume prices spread evenly within a category
+    public long estimate(Optional<String> category, Optional<Double> minPrice, Optional<Double> maxPrice) {
+        Collection<CategoryCount> selected = category
+                .map(name -> Optional.ofNullable(counts.get(name)).map(List::of).orElse(List.of()))
+                .orElseGet(counts::values);
+
+        double low = minPrice.orElse(Double.NEGATIVE_INFINITY);
+        double high = maxPrice.orElse(Double.POSITIVE_INFINITY);
+        double estimate = 0;
+        for (CategoryCount count : selected) {
+            estimate += count.count() * count.fractionWithin(low, high);
+        }
+        return Math.round(estimate);
+    }
+
+    private void adjust(String category, long delta) {
+        if (category != null) {
+            counts.compute(category, (name, current) -> {
+                long next = (current != null ? current.count() : 0) + delta;
+                if (next <= 0) {
+                    return null;
+                }
+                return current != null ? current.withCount(next) : new CategoryCount(next, 0, 0);
+            });
+        }
+    }
+
+    record CategoryCount(long count, double minPrice, double maxPrice) {
+
+        CategoryCount withCount(long newCount) {
+            return new CategoryCount(newCount, minPrice, maxPrice);
+        }
+
+        double fractionWithin(double low, double high) {
+            if (low <= minPrice && high >= maxPrice) {
+                return 1;
+            }
+            double from = Math.max(low, minPrice);
+            double to = Math.min(high, maxPrice);
+            if (to < from) {
+                return 0;
+            }
+            return maxPrice > minPrice ? (to - from) / (maxPrice - minPrice) : 1;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.alten.shop.service;
+
+import com.alten.shop.config.ProductJsonFragments;
+import com.alten.shop.dto.response.ProductResponse;
+import com.alten.shop.repository.ProductRepository;
+import com.alten.shop.util.CsvWriter;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+@Service
+public class ProductExportService {
+
+    private final ProductRepository productRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectWriter productWriter;
+    private final ObjectMapper objectMapper;
+    private final int fetchSize;
+
+    public ProductExportService(ProductRepository productRepository,
+                                PlatformTransactionManager transactionManager,
+                                ObjectMapper objectMapper,
+                                @Value("${app.catalog.export.fetch-size:1000}") int fetchSize) {
+        this.productRepository = productRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        // Flushing after every row would hand the socket (and the gzip stream) one tiny write per product.
+        // A full export reads each product once, so it would only churn the shared JSON fragment cache.
+        this.productWriter = objectMapper.writerFor(ProductResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withAttribute(ProductJsonFragments.BYPASS_ATTRIBUTE, true);
+        this.fetchSize = fetchSize;
+    }
+
+    // Rows go from the cursor to the output one at a time; heap use does not depend on the catalog size
+    public long export(OutputStream output, ProductFileFormat format, Optional<String> category,
+                       Optional<Double> minPrice, Optional<Double> maxPrice) {
+        Long written = transactionTemplate.execute(status -> {
+            try (Stream<ProductResponse> products = productRepository.streamAll(
+                    ProductService.filter(category, minPrice, maxPrice), fetchSize)) {
+                return format == ProductFileFormat.CSV
+                        ? writeCsv(products.iterator(), output)
+                        : writeNdjson(products.iterator(), output);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return written != null ? written : 0;
+    }
+
+    private long writeNdjson(Iterator<ProductResponse> products, OutputStream output) throws IOException {
+        long count = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(output)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Records are separated by the newline written below, not by Jackson's default space
+            generator.setRootValueSeparator(null);
+            while (products.hasNext()) {
+                productWriter.writeValue(generator, products.next());
+                generator.writeRaw('\n');
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static long writeCsv(Iterator<ProductResponse> products, OutputStream output) throws IOException {
+        long count = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        CsvWriter csv = new CsvWriter(writer);
+        csv.writeRecord(ProductFileFormat.CSV_COLUMNS);
+        while (products.hasNext()) {
+            ProductResponse product = products.next();
+            csv.writeRecord(Arrays.asList(product.code(), product.name(), product.description(), product.image(),
+                    product.category(), product.price(), product.quantity(), product.internalReference(),
+                    product.shellId(), product.inventoryStatus(), product.rating()));
+            count++;
+        }
+        writer.flush();
+        return count;
+    }
+}
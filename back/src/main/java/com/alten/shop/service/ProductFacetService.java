@@ -0,0 +1,118 @@
+package com.alten.shop.service;
+
+import com.alten.shop.dto.response.ProductFacetsResponse;
+import com.alten.shop.dto.response.ProductFacetsResponse.FacetCount;
+import com.alten.shop.dto.response.ProductFacetsResponse.PriceBucket;
+import com.alten.shop.entity.Product;
+import com.alten.shop.event.ProductChangedEvent;
+import com.alten.shop.repository.ProductFacetRow;
+import com.alten.shop.repository.ProductRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+public class ProductFacetService {
+
+    static final String UNRATED = "unrated";
+
+    private final ProductRepository productRepository;
+    private final double priceBucketWidth;
+    private final Cache<FacetKey, ProductFacetsResponse> cache;
+    // Part of every key, so a computation that raced a write can never be served after it
+    private final AtomicLong generation = new AtomicLong();
+
+    public ProductFacetService(ProductRepository productRepository,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.catalog.facets.price-bucket-width:50}") double priceBucketWidth,
+                               @Value("${app.catalog.facets.cache.maximum-size:1000}") long maximumSize,
+                               @Value("${app.catalog.facets.cache.ttl:10m}") Duration ttl) {
+        if (priceBucketWidth <= 0) {
+            throw new IllegalArgumentException("app.catalog.facets.price-bucket-width must be positive");
+        }
+        this.productRepository = productRepository;
+        this.priceBucketWidth = priceBucketWidth;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "product-facets");
+    }
+
+    @Transactional(readOnly = true)
+    public ProductFacetsResponse getFacets(Optional<String> category, Optional<Double> minPrice,
+                                           Optional<Double> maxPrice) {
+        FacetKey key = new FacetKey(generation.get(), category.orElse(null), minPrice.orElse(null), maxPrice.orElse(null));
+        return cache.get(key, k -> aggregate(
+                productRepository.findFacetRows(ProductService.filter(category, minPrice, maxPrice), priceBucketWidth)));
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    // Folds the single GROUP BY result into the four facets
+    private ProductFacetsResponse aggregate(List<ProductFacetRow> rows) {
+        long total = 0;
+        Map<String, Long> categories = new HashMap<>();
+        Map<Product.InventoryStatus, Long> statuses = new EnumMap<>(Product.InventoryStatus.class);
+        Map<Integer, Long> ratings = new TreeMap<>(Comparator.nullsLast(Comparator.naturalOrder()));
+        Map<Integer, Long> prices = new TreeMap<>();
+        for (ProductFacetRow row : rows) {
+            total += row.count();
+            if (row.category() != null) {
+                categories.merge(row.category(), row.count(), Long::sum);
+            }
+            if (row.inventoryStatus() != null) {
+                statuses.merge(row.inventoryStatus(), row.count(), Long::sum);
+            }
+            ratings.merge(row.rating(), row.count(), Long::sum);
+            if (row.priceBucket() != null) {
+                prices.merge(row.priceBucket(), row.count(), Long::sum);
+            }
+        }
+
+        List<FacetCount> categoryCounts = new ArrayList<>();
+        categories.forEach((value, count) -> categoryCounts.add(new FacetCount(value, count)));
+        categoryCounts.sort(Comparator.comparingLong(FacetCount::count).reversed().thenComparing(FacetCount::value));
+
+        List<FacetCount> statusCounts = new ArrayList<>();
+        statuses.forEach((status, count) -> statusCounts.add(new FacetCount(status.name(), count)));
+
+        List<FacetCount> ratingCounts = new ArrayList<>();
+        ratings.forEach((rating, count) -> ratingCounts.add(
+                new FacetCount(rating != null ? rating.toString() : UNRATED, count)));
+
+        List<PriceBucket> priceBuckets = new ArrayList<>();
+        prices.forEach((bucket, count) -> priceBuckets.add(
+                new PriceBucket(bucket * priceBucketWidth, (bucket + 1) * priceBucketWidth, count)));
+
+        return new ProductFacetsResponse(total, categoryCounts, statusCounts, ratingCounts, priceBuckets);
+    }
+
+    private record FacetKey(long generation, String category, Double minPrice, Double maxPrice) {
+    }
+}
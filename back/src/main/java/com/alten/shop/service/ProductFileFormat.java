@@ -0,0 +1,57 @@
+package com.alten.shop.service;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.util.List;
+import java.util.Locale;
+
+public enum ProductFileFormat {
+    NDJSON(MediaType.APPLICATION_NDJSON, "ndjson"),
+    CSV(new MediaType("text", "csv"), "csv");
+
+    // Exports write exactly the columns imports expect, so a CSV dump can be fed straight back in
+    public static final List<String> CSV_COLUMNS = List.of("code", "name", "description", "image", "category", "price",
+            "quantity", "internalReference", "shellId", "inventoryStatus", "rating");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    ProductFileFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public static ProductFileFormat fromContentType(String contentType) {
+        if (contentType != null) {
+            try {
+                MediaType mediaType = MediaType.parseMediaType(contentType);
+                for (ProductFileFormat format : values()) {
+                    if (mediaType.isCompatibleWith(format.mediaType)) {
+                        return format;
+                    }
+                }
+            } catch (InvalidMediaTypeException e) {
+                // Reported below like any other unsupported type
+            }
+        }
+        throw new IllegalArgumentException("Import expects " + MediaType.APPLICATION_NDJSON_VALUE + " or text/csv");
+    }
+
+    public static ProductFileFormat fromParameter(String format) {
+        for (ProductFileFormat candidate : values()) {
+            if (candidate.extension.equals(format.toLowerCase(Locale.ROOT))) {
+                return candidate;
+            }
+        }
+        throw new IllegalArgumentException("format must be one of: ndjson, csv");
+    }
+}
@@ -0,0 +1,316 @@
+package com.alten.shop.service;
+
+import com.alten.shop.dto.request.ProductRequest;
+import com.alten.shop.dto.response.ImportReport;
+import com.alten.shop.entity.Product;
+import com.alten.shop.event.ProductChangedEvent;
+import com.alten.shop.util.CsvReader;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class ProductImportService {
+
+    static final int MAX_REPORTED_ERRORS = 1000;
+
+    // created_at survives an update; everything else is replaced by the incoming row
+    private static final String UPSERT_SQL = """
+            INSERT INTO products (code, name, description, image, category, price, quantity, internal_reference,
+                                  shell_id, inventory_status, rating, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (code) DO UPDATE SET
+                name = EXCLUDED.name,
+                description = EXCLUDED.description,
+                image = EXCLUDED.image,
+                category = EXCLUDED.category,
+                price = EXCLUDED.price,
+                quantity = EXCLUDED.quantity,
+                internal_reference = EXCLUDED.internal_reference,
+                shell_id = EXCLUDED.shell_id,
+                inventory_status = EXCLUDED.inventory_status,
+                rating = EXCLUDED.rating,
+                updated_at = EXCLUDED.updated_at
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectReader productReader;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+
+    public ProductImportService(JdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager,
+                                Validator validator,
+                                ObjectMapper objectMapper,
+                                ApplicationEventPublisher eventPublisher,
+                                @Value("${app.catalog.import.batch-size:5000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.productReader = objectMapper.readerFor(ProductRequest.class);
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+    }
+
+    // Reads the body one batch at a time, so memory stays bounded by the batch size whatever the feed length
+    public ImportReport importProducts(InputStream body, ProductFileFormat format) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8), 64 * 1024);
+        RowReader rows = format == ProductFileFormat.CSV ? csvRows(reader) : ndjsonRows(reader);
+        Tally tally = new Tally();
+
+        try {
+            List<Row> batch = new ArrayList<>(batchSize);
+            Row row;
+            while ((row = nextRow(rows, tally)) != null) {
+                batch.add(row);
+                if (batch.size() == batchSize) {
+                    importBatch(batch, tally);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                importBatch(batch, tally);
+            }
+        } finally {
+            // Batches commit one by one: whatever already reached the database has to reach the caches too
+            if (tally.imported > 0) {
+                eventPublisher.publishEvent(ProductChangedEvent.bulk());
+            }
+        }
+        return new ImportReport(tally.rows, tally.imported, tally.failed, tally.errors,
+                tally.failed > tally.errors.size(), tally.aborted);
+    }
+
+    // A broken quote or a failed read leaves no way to find the next row: reading stops there, the rows before it
+    // are still imported, and the report says where it ended
+    private static Row nextRow(RowReader rows, Tally tally) {
+        try {
+            Row row = rows.next();
+            if (row != null) {
+                tally.lastLine = row.line();
+            }
+            return row;
+        } catch (IllegalArgumentException | IOException e) {
+            tally.fail(tally.lastLine + 1, null, "Import stopped: " + e.getMessage());
+            tally.aborted = true;
+            return null;
+        }
+    }
+
+    private void importBatch(List<Row> batch, Tally tally) {
+        tally.rows += batch.size();
+        // Parsing and bean validation are CPU-bound and independent per row
+        List<Parsed> parsed = batch.parallelStream().map(this::parse).toList();
+
+        // Within one statement a code may only be written once; the last occurrence wins as it would row by row
+        Map<String, Parsed> valid = new LinkedHashMap<>();
+        // Earlier rows replaced by a later one with the same code; they count as imported only if it commits
+        Map<String, Integer> superseded = new HashMap<>();
+        for (Parsed result : parsed) {
+            if (result.error() != null) {
+                tally.fail(result.line(), result.code(), result.error());
+            } else if (valid.put(result.request().code(), result) != null) {
+                superseded.merge(result.request().code(), 1, Integer::sum);
+            }
+        }
+        if (valid.isEmpty()) {
+            return;
+        }
+
+        List<Parsed> upserts = new ArrayList<>(valid.values());
+        upserts.sort(Comparator.comparingLong(Parsed::line));
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(UPSERT_SQL, upserts,
+                    upserts.size(), (ps, result) -> bind(ps, result.request(), now)));
+            tally.imported += upserts.size() + superseded.values().stream().mapToInt(Integer::intValue).sum();
+        } catch (DataAccessException e) {
+            // One bad row rolls back the whole batch; replay it row by row to find out which
+            for (Parsed result : upserts) {
+                try {
+                    jdbcTemplate.update(UPSERT_SQL, ps -> bind(ps, result.request(), now));
+                    tally.imported += 1 + superseded.getOrDefault(result.code(), 0);
+                } catch (DataAccessException rowFailure) {
+                    tally.fail(result.line(), result.code(), rootMessage(rowFailure));
+                }
+            }
+        }
+    }
+
+    private Parsed parse(Row row) {
+        ProductRequest request;
+        try {
+            request = row.json() != null ? productReader.readValue(row.json()) : fromCsv(row.fields());
+        } catch (JsonProcessingException e) {
+            return Parsed.failed(row.line(), null, "Malformed JSON: " + e.getOriginalMessage());
+        } catch (IllegalArgumentException e) {
+            return Parsed.failed(row.line(), row.fields() != null ? row.fields().getFirst() : null, e.getMessage());
+        }
+        if (request == null) {
+            return Parsed.failed(row.line(), null, "Empty row");
+        }
+
+        String violations = validator.validate(request).stream()
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+        return violations.isEmpty()
+                ? new Parsed(row.line(), request.code(), request, null)
+                : Parsed.failed(row.line(), request.code(), violations);
+    }
+
+    private static ProductRequest fromCsv(List<String> fields) {
+        if (fields.size() != ProductFileFormat.CSV_COLUMNS.size()) {
+            throw new IllegalArgumentException(
+                    "Expected " + ProductFileFormat.CSV_COLUMNS.size() + " columns but found " + fields.size());
+        }
+        return new ProductRequest(
+                blankToNull(fields.get(0)),
+                blankToNull(fields.get(1)),
+                blankToNull(fields.get(2)),
+                blankToNull(fields.get(3)),
+                blankToNull(fields.get(4)),
+                parse(fields.get(5), "price", Double::valueOf),
+                parse(fields.get(6), "quantity", Integer::valueOf),
+                blankToNull(fields.get(7)),
+                parse(fields.get(8), "shellId", Long::valueOf),
+                parse(fields.get(9), "inventoryStatus",
+                        value -> Product.InventoryStatus.valueOf(value.toUpperCase(Locale.ROOT))),
+                parse(fields.get(10), "rating", Integer::valueOf));
+    }
+
+    private static <T> T parse(String value, String column, Function<String, T> parser) {
+        String trimmed = blankToNull(value);
+        if (trimmed == null) {
+            return null;
+        }
+        try {
+            return parser.apply(trimmed);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(column + " has an invalid value: " + trimmed);
+        }
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private static void bind(PreparedStatement ps, ProductRequest request, Timestamp now) throws SQLException {
+        ps.setString(1, request.code());
+        ps.setString(2, request.name());
+        ps.setString(3, request.description());
+        ps.setString(4, request.image());
+        ps.setString(5, request.category());
+        ps.setDouble(6, request.price());
+        ps.setInt(7, request.quantity());
+        ps.setString(8, request.internalReference());
+        ps.setLong(9, request.shellId());
+        if (request.inventoryStatus() != null) {
+            ps.setString(10, request.inventoryStatus().name());
+        } else {
+            ps.setNull(10, Types.VARCHAR);
+        }
+        if (request.rating() != null) {
+            ps.setInt(11, request.rating());
+        } else {
+            ps.setNull(11, Types.INTEGER);
+        }
+        ps.setTimestamp(12, now);
+        ps.setTimestamp(13, now);
+    }
+
+    private static String rootMessage(DataAccessException e) {
+        Throwable cause = e.getMostSpecificCause();
+        return cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+    }
+
+    private static RowReader ndjsonRows(BufferedReader reader) {
+        long[] line = {0};
+        return () -> {
+            String text;
+            while ((text = reader.readLine()) != null) {
+                line[0]++;
+                if (!text.isBlank()) {
+                    return new Row(line[0], text, null);
+                }
+            }
+            return null;
+        };
+    }
+
+    private static RowReader csvRows(BufferedReader reader) throws IOException {
+        CsvReader csv = new CsvReader(reader);
+        List<String> header = csv.readRecord();
+        if (header == null) {
+            return () -> null;
+        }
+        List<String> columns = header.stream().map(String::trim).toList();
+        if (!columns.equals(ProductFileFormat.CSV_COLUMNS)) {
+            throw new IllegalArgumentException("CSV header must be: " + String.join(",", ProductFileFormat.CSV_COLUMNS));
+        }
+        return () -> {
+            List<String> fields = csv.readRecord();
+            return fields != null ? new Row(csv.getRecordLine(), null, fields) : null;
+        };
+    }
+
+    @FunctionalInterface
+    private interface RowReader {
+        Row next() throws IOException;
+    }
+
+    private record Row(long line, String json, List<String> fields) {
+    }
+
+    private record Parsed(long line, String code, ProductRequest request, String error) {
+        static Parsed failed(long line, String code, String error) {
+            return new Parsed(line, code, null, error);
+        }
+    }
+
+    private static final class Tally {
+        private long rows;
+        private long imported;
+        private long failed;
+        private long lastLine;
+        private boolean aborted;
+        private final List<ImportReport.RowError> errors = new ArrayList<>();
+
+        void fail(long line, String code, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new ImportReport.RowError(line, code, message));
+            }
+        }
+    }
+}
@@ -0,0 +1,466 @@
+package com.alten.shop.service;
+
+import com.alten.shop.dto.response.ProductResponse;
+import com.alten.shop.entity.Product;
+import com.alten.shop.event.ProductChangedEvent;
+import com.alten.shop.exception.ServiceUnavailableException;
+import com.alten.shop.repository.ProductCursor;
+import com.alten.shop.repository.ProductRepository;
+import com.alten.shop.repository.ProductSortField;
+import com.alten.shop.util.PostingList;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+@Service
+public class ProductSearchIndex {
+
+    private static final int LOAD_BATCH_SIZE = 1000;
+    private static final int MAX_QUERY_TERMS = 16;
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+    private static final double PREFIX_WEIGHT = 0.5;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int NAME_WEIGHT = 3;
+    private static final int CODE_WEIGHT = 3;
+    private static final int CATEGORY_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final ProductRepository productRepository;
+    private final ProductCache productCache;
+    private final boolean enabled;
+    private final Executor rebuilds;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object loadLock = new Object();
+    private Index index = new Index();
+    private volatile boolean ready;
+    // Non-null while load() reads the catalog; guarded by the write lock
+    private Set<Long> changedDuringLoad;
+
+    @Autowired
+    public ProductSearchIndex(ProductRepository productRepository,
+                              ProductCache productCache,
+                              @Value("${app.catalog.search.enabled:true}") boolean enabled) {
+        // One rebuild runs and at most one waits: it starts after every bulk write that queued behind it
+        this(productRepository, productCache, enabled, new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(1), new CustomizableThreadFactory("product-search-"),
+                new ThreadPoolExecutor.DiscardPolicy()));
+    }
+
+    ProductSearchIndex(ProductRepository productRepository, ProductCache productCache, boolean enabled,
+                       Executor rebuilds) {
+        this.productRepository = productRepository;
+        this.productCache = productCache;
+        this.enabled = enabled;
+        this.rebuilds = rebuilds;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (rebuilds instanceof ExecutorService executor) {
+            executor.shutdown();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        synchronized (loadLock) {
+            lock.writeLock().lock();
+            try {
+                changedDuringLoad = new HashSet<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            // Each batch is tokenized as it is read, so the catalog's text is never held all at once
+            Index rebuilt = new Index();
+            ProductCursor cursor = null;
+            List<Product> batch;
+            do {
+                batch = productRepository.findAllAfter((root, query, cb) -> null, ProductSortField.ID, cursor, LOAD_BATCH_SIZE);
+                for (Product product : batch) {
+                    rebuilt.add(ProductResponse.fromEntity(product));
+                }
+                if (!batch.isEmpty()) {
+                    cursor = ProductCursor.of(ProductSortField.ID, batch.getLast());
+                }
+            } while (batch.size() == LOAD_BATCH_SIZE);
+            rebuilt.trimToSize();
+
+            Set<Long> changed;
+            lock.writeLock().lock();
+            try {
+                changed = changedDuringLoad;
+                changedDuringLoad = null;
+                index = rebuilt;
+                ready = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            // Writes committed while the batches were read may be missing from them
+            changed.forEach(this::refresh);
+        }
+    }
+
+    // Builds the new index off to the side so searches keep running against the old one meanwhile
+    public void replaceAll(Collection<ProductResponse> products) {
+        Index rebuilt = Index.of(products);
+        lock.writeLock().lock();
+        try {
+            index = rebuilt;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        switch (event.type()) {
+            // Searches keep the previous index until the rebuild swaps in, off the writer's thread
+            case BULK -> rebuilds.execute(this::load);
+            case DELETED -> remove(event.productId());
+            case CREATED, UPDATED -> refresh(event.productId());
+        }
+    }
+
+    private void refresh(Long productId) {
+        if (!ready) {
+            // Nothing to patch yet; a running load re-reads the product once it has installed its index
+            remove(productId);
+            return;
+        }
+        productRepository.findById(productId)
+                .map(ProductResponse::fromEntity)
+                .ifPresentOrElse(this::put, () -> remove(productId));
+    }
+
+    public void put(ProductResponse product) {
+        lock.writeLock().lock();
+        try {
+            if (changedDuringLoad != null) {
+                changedDuringLoad.add(product.id());
+            }
+            index.remove(product.id());
+            index.add(product);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            if (changedDuringLoad != null) {
+                changedDuringLoad.add(productId);
+            }
+            index.remove(productId);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Every query term has to match, the last one also as a prefix; category and price filter the ranked hits.
+    // The index only keeps what ranking and filtering need: the page's products are read through ProductCache.
+    public Page<ProductResponse> search(String query, Optional<String> category, Optional<Double> minPrice,
+                                        Optional<Double> maxPrice, Pageable pageable) {
+        if (!enabled) {
+            throw new ServiceUnavailableException("Product search is disabled", Duration.ofMinutes(5));
+        }
+        if (!ready) {
+            throw new ServiceUnavailableException("Product search is still loading", Duration.ofSeconds(5));
+        }
+        List<String> terms = queryTerms(query);
+        if (terms.isEmpty()) {
+            throw new IllegalArgumentException("Search query must contain at least one letter or digit");
+        }
+
+        List<Hit> hits;
+        lock.readLock().lock();
+        try {
+            hits = index.search(terms, category.orElse(null), minPrice.orElse(Double.NEGATIVE_INFINITY),
+                    maxPrice.orElse(Double.POSITIVE_INFINITY));
+        } finally {
+            lock.readLock().unlock();
+        }
+        hits.sort(Comparator.comparingDouble(Hit::score).reversed()
+                .thenComparingLong(Hit::productId));
+
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(products(hits));
+        }
+        int from = (int) Math.min(pageable.getOffset(), hits.size());
+        int to = Math.min(from + pageable.getPageSize(), hits.size());
+        return new PageImpl<>(products(hits.subList(from, to)), pageable, hits.size());
+    }
+
+    // Keeps the ranked order; a product deleted since it was indexed is left out
+    private List<ProductResponse> products(List<Hit> hits) {
+        List<Long> ids = hits.stream().map(Hit::productId).toList();
+        Map<Long, ProductResponse> productsById = productCache.getAll(ids);
+        List<ProductResponse> products = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            ProductResponse product = productsById.get(id);
+            if (product != null) {
+                products.add(product);
+            }
+        }
+        return products;
+    }
+
+    private void compactIfNeeded() {
+        // Postings of replaced or deleted products stay behind until enough garbage has piled up
+        if (index.deadDocs() > Math.max(LOAD_BATCH_SIZE, index.liveDocs())) {
+            index = index.compact();
+        }
+    }
+
+    private static List<String> queryTerms(String query) {
+        Set<String> terms = new LinkedHashSet<>(tokenize(query));
+        return terms.stream().limit(MAX_QUERY_TERMS).toList();
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        return Arrays.stream(SEPARATORS.split(folded)).filter(token -> !token.isEmpty()).toList();
+    }
+
+    private record Hit(long productId, double score) {
+    }
+
+    private static final class Index {
+        private final TreeMap<String, PostingList> postings = new TreeMap<>();
+        private final Map<Long, Integer> docsByProductId = new HashMap<>();
+        // One shared instance per category name, not one string per product
+        private final Map<String, String> categoryNames = new HashMap<>();
+        private final BitSet live = new BitSet();
+        private long[] productIds = new long[1024];
+        private double[] prices = new double[1024];
+        private String[] categories = new String[1024];
+        private int[] docLengths = new int[1024];
+        private int docCount;
+        private long totalLength;
+
+        static Index of(Collection<ProductResponse> products) {
+            Index index = new Index();
+            for (ProductResponse product : products) {
+                index.add(product);
+            }
+            index.trimToSize();
+            return index;
+        }
+
+        void trimToSize() {
+            postings.values().forEach(PostingList::trimToSize);
+        }
+
+        void add(ProductResponse product) {
+            Map<String, Integer> frequencies = new HashMap<>();
+            int length = addTerms(frequencies, product.name(), NAME_WEIGHT)
+                    + addTerms(frequencies, product.code(), CODE_WEIGHT)
+                    + addTerms(frequencies, product.category(), CATEGORY_WEIGHT)
+                    + addTerms(frequencies, product.description(), DESCRIPTION_WEIGHT);
+
+            int doc = append(product.id(), product.price() != null ? product.price() : Double.NaN,
+                    product.category(), length);
+            frequencies.forEach((term, frequency) ->
+                    postings.computeIfAbsent(term, key -> new PostingList()).add(doc, frequency));
+        }
+
+        private int append(long productId, double price, String category, int length) {
+            int doc = docCount++;
+            if (doc == productIds.length) {
+                productIds = Arrays.copyOf(productIds, doc * 2);
+                prices = Arrays.copyOf(prices, doc * 2);
+                categories = Arrays.copyOf(categories, doc * 2);
+                docLengths = Arrays.copyOf(docLengths, doc * 2);
+            }
+            productIds[doc] = productId;
+            prices[doc] = price;
+            categories[doc] = category != null ? categoryNames.computeIfAbsent(category, name -> name) : null;
+            docLengths[doc] = length;
+            docsByProductId.put(productId, doc);
+            live.set(doc);
+            totalLength += length;
+            return doc;
+        }
+
+        void remove(Long productId) {
+            Integer doc = docsByProductId.remove(productId);
+            if (doc != null) {
+                live.clear(doc);
+                totalLength -= docLengths[doc];
+            }
+        }
+
+        int liveDocs() {
+            return docsByProductId.size();
+        }
+
+        int deadDocs() {
+            return docCount - liveDocs();
+        }
+
+        // Renumbers the live docs and rewrites the postings without the dead ones; no product text is needed
+        Index compact() {
+            Index compacted = new Index();
+            int[] renumbered = new int[docCount];
+            for (int doc = 0; doc < docCount; doc++) {
+                renumbered[doc] = live.get(doc)
+                        ? compacted.append(productIds[doc], prices[doc], categories[doc], docLengths[doc])
+                        : -1;
+            }
+            postings.forEach((term, list) -> {
+                PostingList rewritten = new PostingList();
+                PostingList.Cursor cursor = list.cursor();
+                while (cursor.next()) {
+                    int doc = renumbered[cursor.doc()];
+                    if (doc >= 0) {
+                        rewritten.add(doc, cursor.frequency());
+                    }
+                }
+                if (rewritten.size() > 0) {
+                    rewritten.trimToSize();
+                    compacted.postings.put(term, rewritten);
+                }
+            });
+            return compacted;
+        }
+
+        List<Hit> search(List<String> terms, String category, double low, double high) {
+            int liveDocs = liveDocs();
+            double averageLength = liveDocs == 0 ? 1 : Math.max(1, (double) totalLength / liveDocs);
+            // Rarest term first: it bounds the candidate set every other term can only narrow
+            List<Map<PostingList, Double>> expansions = new ArrayList<>();
+            for (int i = 0; i < terms.size(); i++) {
+                Map<PostingList, Double> expanded = expand(terms.get(i), i == terms.size() - 1);
+                if (expanded.isEmpty()) {
+                    return new ArrayList<>();
+                }
+                expansions.add(expanded);
+            }
+            expansions.sort(Comparator.comparingLong(Index::postingCount));
+
+            boolean priceFiltered = low != Double.NEGATIVE_INFINITY || high != Double.POSITIVE_INFINITY;
+            Map<Integer, double[]> scores = new HashMap<>();
+            for (int i = 0; i < expansions.size(); i++) {
+                boolean first = i == 0;
+                Map<Integer, double[]> matched = first ? scores : new HashMap<>();
+                for (Map.Entry<PostingList, Double> expansion : expansions.get(i).entrySet()) {
+                    PostingList list = expansion.getKey();
+                    // Document frequency still counts postings of removed products until the next compaction
+                    double idf = Math.log(1 + (liveDocs - list.size() + 0.5) / (list.size() + 0.5));
+                    PostingList.Cursor cursor = list.cursor();
+                    while (cursor.next()) {
+                        int doc = cursor.doc();
+                        if (!live.get(doc)) {
+                            continue;
+                        }
+                        double[] score;
+                        if (first) {
+                            // Filters are applied while collecting the rarest term, so later terms only score matches
+                            if ((category != null && !category.equals(categories[doc]))
+                                    || (priceFiltered && !(prices[doc] >= low && prices[doc] <= high))) {
+                                continue;
+                            }
+                            score = scores.computeIfAbsent(doc, key -> new double[1]);
+                        } else {
+                            score = scores.get(doc);
+                        }
+                        if (score == null) {
+                            continue;
+                        }
+                        double frequency = cursor.frequency();
+                        double norm = frequency + K1 * (1 - B + B * docLengths[doc] / averageLength);
+                        score[0] += expansion.getValue() * idf * frequency * (K1 + 1) / norm;
+                        matched.put(doc, score);
+                    }
+                }
+                if (!first) {
+                    scores = matched;
+                }
+            }
+
+            List<Hit> hits = new ArrayList<>(scores.size());
+            scores.forEach((doc, score) -> hits.add(new Hit(productIds[doc], score[0])));
+            return hits;
+        }
+
+        private Map<PostingList, Double> expand(String term, boolean prefix) {
+            Map<PostingList, Double> expanded = new HashMap<>();
+            PostingList exact = postings.get(term);
+            if (exact != null) {
+                expanded.put(exact, 1.0);
+            }
+            if (prefix && term.length() >= MIN_PREFIX_LENGTH) {
+                postings.subMap(term, false, term + Character.MAX_VALUE, false).values().stream()
+                        .limit(MAX_PREFIX_EXPANSIONS)
+                        .forEach(list -> expanded.put(list, PREFIX_WEIGHT));
+            }
+            return expanded;
+        }
+
+        private static long postingCount(Map<PostingList, Double> expansion) {
+            return expansion.keySet().stream().mapToLong(PostingList::size).sum();
+        }
+
+        private static int addTerms(Map<String, Integer> frequencies, String text, int weight) {
+            List<String> tokens = tokenize(text);
+            for (String token : tokens) {
+                frequencies.merge(token, weight, Integer::sum);
+            }
+            return tokens.size() * weight;
+        }
+    }
+}
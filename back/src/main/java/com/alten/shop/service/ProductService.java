@@ -1,32 +1,157 @@
 package com.alten.shop.service;
 
+import com.alten.shop.dto.response.CursorPage;
+import com.alten.shop.dto.response.ProductLookupResponse;
+import com.alten.shop.dto.response.ProductPageResponse;
 import com.alten.shop.dto.response.ProductResponse;
 import com.alten.shop.entity.Product;
+import com.alten.shop.event.ProductChangedEvent;
+import com.alten.shop.repository.ProductCursor;
 import com.alten.shop.repository.ProductRepository;
+import com.alten.shop.repository.ProductSortField;
 import jakarta.persistence.criteria.Predicate;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
 @Transactional
 public class ProductService {
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+    static final int MAX_BATCH_IDS = 500;
+
     private final ProductRepository productRepository;
+    private final ProductCountEstimator productCountEstimator;
+    private final CatalogIndex catalogIndex;
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductCache productCache;
+    private final CatalogReadCoalescer readCoalescer;
+    private final CatalogVersion catalogVersion;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public ProductService(ProductRepository productRepository) {
+    public ProductService(ProductRepository productRepository,
+                          ProductCountEstimator productCountEstimator,
+                          CatalogIndex catalogIndex,
+                          ProductSearchIndex productSearchIndex,
+                          ProductCache productCache,
+                          CatalogReadCoalescer readCoalescer,
+                          CatalogVersion catalogVersion,
+                          ApplicationEventPublisher eventPublisher) {
         this.productRepository = productRepository;
+        this.productCountEstimator = productCountEstimator;
+        this.catalogIndex = catalogIndex;
+        this.productSearchIndex = productSearchIndex;
+        this.productCache = productCache;
+        this.readCoalescer = readCoalescer;
+        this.catalogVersion = catalogVersion;
+        this.eventPublisher = eventPublisher;
     }
 
+    // SUPPORTS: an index hit must not open a transaction, which would check out a connection for nothing.
+    // Index answers are cheap and never blocked on a query, so only the database path is coalesced.
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Page<ProductResponse> getProducts(Optional<String> category, Optional<Double> minPrice,
                                              Optional<Double> maxPrice, Pageable pageable) {
-        Specification<Product> spec = (root, query, cb) -> {
+        Optional<Page<ProductResponse>> indexed = queryIndex(category, minPrice, maxPrice, pageable);
+        if (indexed.isPresent()) {
+            return indexed.get();
+        }
+        return readCoalescer.execute(pageKey(category, minPrice, maxPrice, pageable, null),
+                () -> loadProducts(category, minPrice, maxPrice, pageable));
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public ProductPageResponse getProducts(Optional<String> category, Optional<Double> minPrice,
+                                           Optional<Double> maxPrice, Pageable pageable, TotalsMode totals) {
+        // The in-memory index counts exactly for free, so it answers every mode
+        Optional<Page<ProductResponse>> indexed = queryIndex(category, minPrice, maxPrice, pageable);
+        if (indexed.isPresent()) {
+            return ProductPageResponse.exact(indexed.get());
+        }
+        return readCoalescer.execute(pageKey(category, minPrice, maxPrice, pageable, totals),
+                () -> loadProducts(category, minPrice, maxPrice, pageable, totals));
+    }
+
+    private Page<ProductResponse> loadProducts(Optional<String> category, Optional<Double> minPrice,
+                                               Optional<Double> maxPrice, Pageable pageable) {
+        return productRepository.findSummaries(filter(category, minPrice, maxPrice), pageable);
+    }
+
+    private ProductPageResponse loadProducts(Optional<String> category, Optional<Double> minPrice,
+                                             Optional<Double> maxPrice, Pageable pageable, TotalsMode totals) {
+        if (totals == TotalsMode.EXACT) {
+            return ProductPageResponse.exact(loadProducts(category, minPrice, maxPrice, pageable));
+        }
+
+        Slice<ProductResponse> slice = productRepository.findSummarySlice(filter(category, minPrice, maxPrice), pageable);
+        if (totals == TotalsMode.NONE) {
+            return ProductPageResponse.withoutTotals(slice);
+        }
+
+        // A last page pins the total exactly; otherwise never report fewer rows than are known to exist
+        long seen = pageable.getOffset() + slice.getNumberOfElements();
+        long total;
+        if (slice.hasNext()) {
+            total = Math.max(productCountEstimator.estimate(category, minPrice, maxPrice), seen + 1);
+        } else if (slice.hasContent() || pageable.getOffset() == 0) {
+            total = seen;
+        } else {
+            total = productCountEstimator.estimate(category, minPrice, maxPrice);
+        }
+        return ProductPageResponse.estimated(slice, total);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<ProductResponse> getProductsAfter(Optional<String> category, Optional<Double> minPrice,
+                                                        Optional<Double> maxPrice, String sort, String after, int size) {
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_CURSOR_PAGE_SIZE);
+        }
+        ProductSortField sortField = ProductSortField.fromProperty(sort);
+        ProductCursor cursor = after == null || after.isBlank() ? null : ProductCursor.decode(after, sortField);
+
+        // One extra row tells whether another page exists without a count query
+        List<Product> rows = productRepository.findAllAfter(
+                filter(category, minPrice, maxPrice), sortField, cursor, size + 1);
+        boolean hasNext = rows.size() > size;
+        List<Product> page = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? ProductCursor.of(sortField, page.getLast()).encode() : null;
+
+        return new CursorPage<>(page.stream().map(ProductResponse::fromEntity).toList(), size, nextCursor, hasNext);
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Page<ProductResponse> searchProducts(String query, Optional<String> category, Optional<Double> minPrice,
+                                                Optional<Double> maxPrice, Pageable pageable) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query must not be blank");
+        }
+        return productSearchIndex.search(query, category, minPrice, maxPrice, pageable);
+    }
+
+    private Optional<Page<ProductResponse>> queryIndex(Optional<String> category, Optional<Double> minPrice,
+                                                       Optional<Double> maxPrice, Pageable pageable) {
+        return catalogIndex.isAvailable()
+                ? catalogIndex.query(category, minPrice, maxPrice, pageable)
+                : Optional.empty();
+    }
+
+    static Specification<Product> filter(Optional<String> category, Optional<Double> minPrice,
+                                         Optional<Double> maxPrice) {
+        return (root, query, cb) -> {
             List<Predicate> predicates = new ArrayList<>();
 
             category.ifPresent(cat -> predicates.add(cb.equal(root.get("category"), cat)));
@@ -35,24 +160,57 @@ public class ProductService {
 
             return cb.and(predicates.toArray(new Predicate[0]));
         };
-
-        Page<Product> products = productRepository.findAll(spec, pageable);
-        return products.map(ProductResponse::fromEntity);
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Optional<ProductResponse> getProduct(Long id) {
-        return productRepository.findById(id)
-                .map(ProductResponse::fromEntity);
+        // Not coalesced: a hit is a map lookup, and Caffeine already makes concurrent misses on one id wait for
+        // a single load
+        return productCache.get(id);
+    }
+
+    // Enough to revalidate a product page: the cached copy if there is one, otherwise one indexed column
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Optional<LocalDateTime> getProductUpdatedAt(Long id) {
+        Optional<ProductResponse> cached = productCache.getIfPresent(id);
+        return cached.isPresent()
+                ? Optional.ofNullable(cached.get().updatedAt())
+                : productRepository.findUpdatedAtById(id);
+    }
+
+    // One IN query for the whole list; answers come back in request order, duplicates and misses included
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<ProductLookupResponse> getProductsByIds(List<Long> ids) {
+        if (ids.size() > MAX_BATCH_IDS) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_IDS + " ids can be looked up at once");
+        }
+        if (ids.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("ids must not contain null");
+        }
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, ProductResponse> productsById = productCache.getAll(ids);
+        return ids.stream()
+                .map(id -> {
+                    ProductResponse product = productsById.get(id);
+                    return product != null ? ProductLookupResponse.found(product) : ProductLookupResponse.notFound(id);
+                })
+                .toList();
     }
 
     public ProductResponse createProduct(Product product) {
         Product savedProduct = productRepository.save(product);
+        productCache.invalidate(savedProduct.getId());
+        eventPublisher.publishEvent(ProductChangedEvent.created(savedProduct.getId(), savedProduct.getCategory()));
         return ProductResponse.fromEntity(savedProduct);
     }
 
     public ProductResponse updateProduct(Long id, Product productDetails) {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Product not found with id: " + id));
+        String previousCategory = product.getCategory();
 
         product.setCode(productDetails.getCode());
         product.setName(productDetails.getName());
@@ -66,7 +224,10 @@ public class ProductService {
         product.setInventoryStatus(productDetails.getInventoryStatus());
         product.setRating(productDetails.getRating());
 
-        Product updatedProduct = productRepository.save(product);
+        // Flush so @PreUpdate stamps updatedAt before the response is built: serialized fragments are keyed on it
+        Product updatedProduct = productRepository.saveAndFlush(product);
+        productCache.invalidate(id);
+        eventPublisher.publishEvent(ProductChangedEvent.updated(id, previousCategory, updatedProduct.getCategory()));
         return ProductResponse.fromEntity(updatedProduct);
     }
 
@@ -74,9 +235,23 @@ public class ProductService {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Product not found with id: " + id));
         productRepository.delete(product);
+        productCache.invalidate(id);
+        eventPublisher.publishEvent(ProductChangedEvent.deleted(id, product.getCategory()));
     }
 
     public boolean isAdmin(String email) {
         return "admin@admin.com".equals(email);
     }
+
+    // The catalog version is part of the key: a read that starts after a write never joins one from before it
+    private PageKey pageKey(Optional<String> category, Optional<Double> minPrice, Optional<Double> maxPrice,
+                            Pageable pageable, TotalsMode totals) {
+        return new PageKey(catalogVersion.version(), category.orElse(null), minPrice.orElse(null),
+                maxPrice.orElse(null), pageable, totals);
+    }
+
+    // Normalized form of a list request; totals is null for the plain Page variant
+    private record PageKey(long version, String category, Double minPrice, Double maxPrice, Pageable pageable,
+                           TotalsMode totals) {
+    }
 }
\ No newline at end of file
@@ -0,0 +1,86 @@
+package com.alten.shop.service;
+
+import com.alten.shop.config.UserPrincipal;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+@Service
+public class RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenStore refreshTokenStore;
+    private final Duration refreshExpiration;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    public RefreshTokenService(RefreshTokenStore refreshTokenStore,
+                               @Value("${app.jwt.refresh.expiration:14d}") Duration refreshExpiration) {
+        this.refreshTokenStore = refreshTokenStore;
+        this.refreshExpiration = refreshExpiration;
+    }
+
+    public String issue(UserPrincipal principal) {
+        return issue(principal, UUID.randomUUID().toString());
+    }
+
+    public RotatedToken rotate(String refreshToken) {
+        RefreshTokenStore.StoredRefreshToken stored = refreshTokenStore.consume(hash(refreshToken))
+                .orElseThrow(RefreshTokenService::invalidToken);
+
+        if (stored.reused()) {
+            // A rotated token came back: assume it leaked and end the whole session family
+            refreshTokenStore.revokeFamily(stored.familyId());
+            throw invalidToken();
+        }
+        if (stored.expiresAt().isBefore(Instant.now())) {
+            throw invalidToken();
+        }
+
+        return new RotatedToken(stored.principal(), issue(stored.principal(), stored.familyId()));
+    }
+
+    public void revoke(String refreshToken) {
+        refreshTokenStore.findFamily(hash(refreshToken)).ifPresent(refreshTokenStore::revokeFamily);
+    }
+
+    @Scheduled(fixedDelayString = "${app.jwt.refresh.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        refreshTokenStore.purgeExpired(Instant.now());
+    }
+
+    private String issue(UserPrincipal principal, String familyId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        refreshTokenStore.save(hash(token), familyId, principal, Instant.now().plus(refreshExpiration));
+        return token;
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static BadCredentialsException invalidToken() {
+        return new BadCredentialsException("Invalid refresh token");
+    }
+
+    public record RotatedToken(UserPrincipal principal, String refreshToken) {
+    }
+}
@@ -0,0 +1,26 @@
+package com.alten.shop.service;
+
+import com.alten.shop.config.UserPrincipal;
+
+import java.time.Instant;
+import java.util.Optional;
+
+public interface RefreshTokenStore {
+
+    void save(String tokenHash, String familyId, UserPrincipal principal, Instant expiresAt);
+
+    /**
+     * Atomically marks the token as used. The returned entry reports {@code reused}
+     * when the token had already been consumed before this call.
+     */
+    Optional<StoredRefreshToken> consume(String tokenHash);
+
+    Optional<String> findFamily(String tokenHash);
+
+    void revokeFamily(String familyId);
+
+    void purgeExpired(Instant now);
+
+    record StoredRefreshToken(String familyId, UserPrincipal principal, Instant expiresAt, boolean reused) {
+    }
+}
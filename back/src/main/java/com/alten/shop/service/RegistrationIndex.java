@@ -0,0 +1,70 @@
+package com.alten.shop.service;
+
+import com.alten.shop.repository.UserIdentity;
+import com.alten.shop.repository.UserRepository;
+import com.alten.shop.util.BloomFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.stream.Stream;
+
+@Service
+public class RegistrationIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(RegistrationIndex.class);
+
+    private final UserRepository userRepository;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    private volatile BloomFilter emails;
+    private volatile BloomFilter usernames;
+
+    public RegistrationIndex(UserRepository userRepository,
+                             @Value("${app.registration.bloom.expected-insertions:1000000}") long expectedInsertions,
+                             @Value("${app.registration.bloom.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.userRepository = userRepository;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        BloomFilter newEmails = new BloomFilter(expectedInsertions, falsePositiveRate);
+        BloomFilter newUsernames = new BloomFilter(expectedInsertions, falsePositiveRate);
+        long count = 0;
+        try (Stream<UserIdentity> identities = userRepository.streamAllIdentities()) {
+            for (UserIdentity identity : (Iterable<UserIdentity>) identities::iterator) {
+                newEmails.put(identity.getEmail());
+                newUsernames.put(identity.getUsername());
+                count++;
+            }
+        }
+        emails = newEmails;
+        usernames = newUsernames;
+        log.info("Registration index built from {} users", count);
+    }
+
+    public boolean mightBeTaken(String email, String username) {
+        BloomFilter currentEmails = emails;
+        BloomFilter currentUsernames = usernames;
+        if (currentEmails == null || currentUsernames == null) {
+            return true;
+        }
+        return currentEmails.mightContain(email) || currentUsernames.mightContain(username);
+    }
+
+    public void add(String email, String username) {
+        BloomFilter currentEmails = emails;
+        BloomFilter currentUsernames = usernames;
+        if (currentEmails != null && currentUsernames != null) {
+            currentEmails.put(email);
+            currentUsernames.put(username);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.alten.shop.service;
+
+import com.alten.shop.config.JwtUtils;
+import com.alten.shop.config.VerifiedToken;
+import com.alten.shop.entity.RevokedToken;
+import com.alten.shop.repository.RevokedTokenRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+public class TokenRevocationService {
+
+    // Re-read a little behind the watermark so rows committed late by another node are not skipped
+    private static final Duration REFRESH_OVERLAP = Duration.ofSeconds(30);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    private volatile Instant watermark = Instant.EPOCH;
+
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository) {
+        this.revokedTokenRepository = revokedTokenRepository;
+    }
+
+    public boolean isRevoked(String tokenId) {
+        return tokenId != null && revoked.containsKey(tokenId);
+    }
+
+    @Transactional
+    public boolean revoke(VerifiedToken token) {
+        String tokenId = token.tokenId();
+        if (tokenId == null || token.expiration() == null || token.isExpired()) {
+            return false;
+        }
+        if (!revokedTokenRepository.existsById(tokenId)) {
+            revokedTokenRepository.save(new RevokedToken(
+                    tokenId, token.longClaim(JwtUtils.CLAIM_USER_ID), token.expiration(), Instant.now()));
+        }
+        revoked.put(tokenId, token.expiration().toEpochMilli());
+        return true;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.jwt.revocation.refresh-interval-ms:5000}",
+            initialDelayString = "${app.jwt.revocation.refresh-interval-ms:5000}")
+    @Transactional(readOnly = true)
+    public void refresh() {
+        Instant now = Instant.now();
+        Instant since = watermark.equals(Instant.EPOCH) ? Instant.EPOCH : watermark.minus(REFRESH_OVERLAP);
+        List<RevokedToken> rows = revokedTokenRepository.findActiveRevokedSince(since, now);
+        for (RevokedToken row : rows) {
+            revoked.put(row.getJti(), row.getExpiresAt().toEpochMilli());
+        }
+        if (!rows.isEmpty()) {
+            watermark = rows.getLast().getRevokedAt();
+        }
+
+        long nowMs = now.toEpochMilli();
+        revoked.values().removeIf(expiresAt -> expiresAt < nowMs);
+    }
+
+    @Scheduled(fixedDelayString = "${app.jwt.revocation.purge-interval-ms:3600000}")
+    @Transactional
+    public void purgeExpired() {
+        revokedTokenRepository.deleteExpired(Instant.now());
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+}
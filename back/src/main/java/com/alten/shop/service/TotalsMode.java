@@ -0,0 +1,17 @@
+package com.alten.shop.service;
+
+import java.util.Locale;
+
+public enum TotalsMode {
+    EXACT,
+    ESTIMATED,
+    NONE;
+
+    public static TotalsMode fromParameter(String value) {
+        try {
+            return valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported totals mode: " + value + " (expected exact, estimated or none)");
+        }
+    }
+}
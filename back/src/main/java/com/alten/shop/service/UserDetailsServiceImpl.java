@@ -3,24 +3,66 @@ package com.alten.shop.service;
 import com.alten.shop.config.UserPrincipal;
 import com.alten.shop.entity.User;
 import com.alten.shop.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
 
 @Service
 public class UserDetailsServiceImpl implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final LoadingCache<String, UserPrincipal> principalCache;
 
-    public UserDetailsServiceImpl(UserRepository userRepository) {
+    public UserDetailsServiceImpl(UserRepository userRepository,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${app.security.user-cache.enabled:true}") boolean cacheEnabled,
+                                  @Value("${app.security.user-cache.maximum-size:10000}") long maximumSize,
+                                  @Value("${app.security.user-cache.ttl:5m}") Duration ttl) {
         this.userRepository = userRepository;
+        if (cacheEnabled) {
+            // Caffeine evicts with W-TinyLFU and runs a single load per key for concurrent misses
+            this.principalCache = Caffeine.newBuilder()
+                    .maximumSize(maximumSize)
+                    .expireAfterWrite(ttl)
+                    .recordStats()
+                    .build(this::loadPrincipal);
+            CaffeineCacheMetrics.monitor(meterRegistry, principalCache, "users");
+        } else {
+            this.principalCache = null;
+        }
     }
 
     @Override
-    @Transactional
     public UserDetails loadUserByUsername(String email) {
+        return principalCache != null ? principalCache.get(email) : loadPrincipal(email);
+    }
+
+    public void evictUser(String email) {
+        if (principalCache != null && email != null) {
+            principalCache.invalidate(email);
+        }
+    }
+
+    public void evictAll() {
+        if (principalCache != null) {
+            principalCache.invalidateAll();
+        }
+    }
+
+    public CacheStats cacheStats() {
+        return principalCache != null ? principalCache.stats() : CacheStats.empty();
+    }
+
+    private UserPrincipal loadPrincipal(String email) {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User Not Found with email: " + email));
         return new UserPrincipal(user);
@@ -7,11 +7,15 @@ import com.alten.shop.entity.User;
 import com.alten.shop.entity.Wishlist;
 import com.alten.shop.repository.ProductRepository;
 import com.alten.shop.repository.UserRepository;
+import com.alten.shop.repository.WishlistProductRow;
 import com.alten.shop.repository.WishlistRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 @Service
 @Transactional
@@ -20,19 +24,35 @@ public class WishlistService {
     private final WishlistRepository wishlistRepository;
     private final UserRepository userRepository;
     private final ProductRepository productRepository;
+    private final ProductCache productCache;
 
     public WishlistService(WishlistRepository wishlistRepository, UserRepository userRepository,
-                           ProductRepository productRepository) {
+                           ProductRepository productRepository, ProductCache productCache) {
         this.wishlistRepository = wishlistRepository;
         this.userRepository = userRepository;
         this.productRepository = productRepository;
+        this.productCache = productCache;
     }
 
+    // The projection runs in the repository's read-only transaction; only a user's first visit writes
+    @Transactional(propagation = Propagation.SUPPORTS)
     public WishlistResponse getWishlistByUserId(Long userId) {
-        Wishlist wishlist = wishlistRepository.findByUserId(userId)
-                .orElseGet(() -> createNewWishlist(userId));
+        List<WishlistProductRow> rows = wishlistRepository.findProductRowsByUserId(userId);
+        if (rows.isEmpty()) {
+            return mapToWishlistResponse(createNewWishlist(userId));
+        }
 
-        return mapToWishlistResponse(wishlist);
+        List<Long> productIds = rows.stream()
+                .map(WishlistProductRow::productId)
+                .filter(Objects::nonNull)
+                .toList();
+        Map<Long, ProductResponse> productsById = productCache.getAll(productIds);
+        List<ProductResponse> products = productIds.stream()
+                .map(productsById::get)
+                .filter(Objects::nonNull)
+                .toList();
+        WishlistProductRow first = rows.getFirst();
+        return new WishlistResponse(first.wishlistId(), products, first.wishlistUpdatedAt());
     }
 
     public WishlistResponse addToWishlist(Long userId, Long productId) {
@@ -70,8 +90,13 @@ public class WishlistService {
     }
 
     private WishlistResponse mapToWishlistResponse(Wishlist wishlist) {
+        Map<Long, ProductResponse> productsById = productCache.getAll(
+                wishlist.getProducts().stream().map(Product::getId).toList());
         List<ProductResponse> products = wishlist.getProducts().stream()
-                .map(ProductResponse::fromEntity)
+                .map(product -> {
+                    ProductResponse cached = productsById.get(product.getId());
+                    return cached != null ? cached : ProductResponse.fromEntity(product);
+                })
                 .toList();
 
         return new WishlistResponse(wishlist.getId(), products, wishlist.getUpdatedAt());
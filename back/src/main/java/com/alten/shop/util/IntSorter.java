@@ -0,0 +1,53 @@
+package com.alten.shop.util;
+
+// Stable merge sort of an int[] (row positions, typically) by a caller-supplied order, without boxing
+public final class IntSorter {
+
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    @FunctionalInterface
+    public interface IntComparator {
+        int compare(int a, int b);
+    }
+
+    private IntSorter() {
+    }
+
+    public static void sort(int[] values, IntComparator comparator) {
+        if (values.length < 2) {
+            return;
+        }
+        mergeSort(values.clone(), values, 0, values.length, comparator);
+    }
+
+    // Sorts [from, to) into dst, using src as scratch; both hold the same elements on entry
+    private static void mergeSort(int[] src, int[] dst, int from, int to, IntComparator comparator) {
+        if (to - from < INSERTION_SORT_THRESHOLD) {
+            for (int i = from + 1; i < to; i++) {
+                int value = dst[i];
+                int j = i - 1;
+                while (j >= from && comparator.compare(dst[j], value) > 0) {
+                    dst[j + 1] = dst[j];
+                    j--;
+                }
+                dst[j + 1] = value;
+            }
+            return;
+        }
+
+        int mid = (from + to) >>> 1;
+        mergeSort(dst, src, from, mid, comparator);
+        mergeSort(dst, src, mid, to, comparator);
+        if (comparator.compare(src[mid - 1], src[mid]) <= 0) {
+            System.arraycopy(src, from, dst, from, to - from);
+            return;
+        }
+        for (int i = from, left = from, right = mid; i < to; i++) {
+            if (right >= to || (left < mid && comparator.compare(src[left], src[right]) <= 0)) {
+                dst[i] = src[left++];
+            } else {
+                dst[i] = src[right++];
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.alten.shop.util;
+
+import java.util.Arrays;
+
+// Append-only list of (doc, frequency) pairs, doc ids ascending, stored as varint-encoded doc gaps
+public class PostingList {
+
+    private byte[] data = new byte[8];
+    private int length;
+    private int size;
+    private int lastDoc = -1;
+
+    public void add(int doc, int frequency) {
+        if (doc <= lastDoc) {
+            throw new IllegalArgumentException("Doc ids must be added in ascending order");
+        }
+        if (frequency <= 0) {
+            throw new IllegalArgumentException("frequency must be positive");
+        }
+        ensureCapacity(10);
+        writeVarint(doc - lastDoc);
+        writeVarint(frequency);
+        lastDoc = doc;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int lastDoc() {
+        return lastDoc;
+    }
+
+    public int sizeInBytes() {
+        return length;
+    }
+
+    public void trimToSize() {
+        data = Arrays.copyOf(data, length);
+    }
+
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    private void ensureCapacity(int extra) {
+        if (length + extra > data.length) {
+            data = Arrays.copyOf(data, Math.max(data.length + (data.length >> 1), length + extra));
+        }
+    }
+
+    private void writeVarint(int value) {
+        while ((value & ~0x7F) != 0) {
+            data[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data[length++] = (byte) value;
+    }
+
+    public final class Cursor {
+        private int position;
+        private int remaining = size;
+        private int doc = -1;
+        private int frequency;
+
+        public boolean next() {
+            if (remaining == 0) {
+                return false;
+            }
+            doc += readVarint();
+            frequency = readVarint();
+            remaining--;
+            return true;
+        }
+
+        public int doc() {
+            return doc;
+        }
+
+        public int frequency() {
+            return frequency;
+        }
+
+        private int readVarint() {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[position++];
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            return value;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.alten.shop.util;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Concurrent calls with an equal key share one execution: the first caller runs the loader, the others wait for it
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder collapsed = new LongAdder();
+
+    public V execute(K key, Supplier<V> loader, Duration maxWait) throws TimeoutException, InterruptedException {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, mine);
+        if (running == null) {
+            try {
+                V value = loader.get();
+                mine.complete(value);
+                return value;
+            } catch (Throwable e) {
+                mine.completeExceptionally(e);
+                throw e;
+            } finally {
+                inFlight.remove(key, mine);
+            }
+        }
+
+        collapsed.increment();
+        try {
+            return running.get(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            // The loader only throws unchecked exceptions; waiters see the same one the leader did
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw (RuntimeException) e.getCause();
+        }
+    }
+
+    // Calls already waiting keep their result; later calls start a fresh load instead of joining a stale one
+    public void forgetAll() {
+        inFlight.clear();
+    }
+
+    public long collapsedCount() {
+        return collapsed.sum();
+    }
+
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+}
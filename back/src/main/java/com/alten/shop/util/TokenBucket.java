@@ -0,0 +1,49 @@
+package com.alten.shop.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// GCRA form of a token bucket: the only state is the theoretical arrival time, so acquiring is one CAS
+public class TokenBucket {
+
+    private final long capacity;
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final AtomicLong theoreticalArrival;
+
+    public TokenBucket(long capacity, long periodNanos, long nowNanos) {
+        if (capacity <= 0 || periodNanos <= 0) {
+            throw new IllegalArgumentException("Capacity and period must be positive");
+        }
+        this.capacity = capacity;
+        this.emissionIntervalNanos = Math.max(1, periodNanos / capacity);
+        this.burstToleranceNanos = emissionIntervalNanos * capacity;
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    // Remaining tokens when allowed, otherwise -(nanos until the next token) - 1
+    public long tryAcquire(long nowNanos) {
+        while (true) {
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, nowNanos) + emissionIntervalNanos;
+            long backlog = next - nowNanos;
+            if (backlog > burstToleranceNanos) {
+                return -(backlog - burstToleranceNanos) - 1;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return (burstToleranceNanos - backlog) / emissionIntervalNanos;
+            }
+        }
+    }
+
+    public long nanosUntilFull(long nowNanos) {
+        return Math.max(0, theoreticalArrival.get() - nowNanos);
+    }
+
+    public boolean isFull(long nowNanos) {
+        return theoreticalArrival.get() <= nowNanos;
+    }
+
+    public long getCapacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,61 @@
+CREATE TABLE users (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username   VARCHAR(50)  NOT NULL,
+    firstname  VARCHAR(100) NOT NULL,
+    email      VARCHAR(255) NOT NULL,
+    password   VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP(6),
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE products (
+    id                 BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    code               VARCHAR(255)     NOT NULL,
+    name               VARCHAR(255)     NOT NULL,
+    description        TEXT             NOT NULL,
+    image              VARCHAR(255)     NOT NULL,
+    category           VARCHAR(255)     NOT NULL,
+    price              DOUBLE PRECISION NOT NULL,
+    quantity           INTEGER          NOT NULL,
+    internal_reference VARCHAR(255)     NOT NULL,
+    shell_id           BIGINT           NOT NULL,
+    inventory_status   VARCHAR(255),
+    rating             INTEGER,
+    created_at         TIMESTAMP(6),
+    updated_at         TIMESTAMP(6),
+    CONSTRAINT uk_products_code UNIQUE (code)
+);
+
+CREATE TABLE carts (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id    BIGINT,
+    updated_at TIMESTAMP(6),
+    CONSTRAINT uk_carts_user UNIQUE (user_id),
+    CONSTRAINT fk_carts_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE cart_items (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    cart_id    BIGINT,
+    product_id BIGINT,
+    quantity   INTEGER,
+    CONSTRAINT fk_cart_items_cart FOREIGN KEY (cart_id) REFERENCES carts (id),
+    CONSTRAINT fk_cart_items_product FOREIGN KEY (product_id) REFERENCES products (id)
+);
+
+CREATE TABLE wishlists (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id    BIGINT,
+    updated_at TIMESTAMP(6),
+    CONSTRAINT uk_wishlists_user UNIQUE (user_id),
+    CONSTRAINT fk_wishlists_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE wishlist_products (
+    wishlist_id BIGINT NOT NULL,
+    product_id  BIGINT NOT NULL,
+    CONSTRAINT uk_wishlist_products UNIQUE (wishlist_id, product_id),
+    CONSTRAINT fk_wishlist_products_wishlist FOREIGN KEY (wishlist_id) REFERENCES wishlists (id),
+    CONSTRAINT fk_wishlist_products_product FOREIGN KEY (product_id) REFERENCES products (id)
+);
@@ -0,0 +1,19 @@
+-- Catalog: category equality with a price range or name ordering, plus every sortable column on its own.
+-- The trailing id makes each ordering unique so it can also drive keyset pagination.
+CREATE INDEX IF NOT EXISTS idx_products_category_price ON products (category, price, id);
+CREATE INDEX IF NOT EXISTS idx_products_category_name ON products (category, name, id);
+CREATE INDEX IF NOT EXISTS idx_products_name ON products (name, id);
+CREATE INDEX IF NOT EXISTS idx_products_price ON products (price, id);
+CREATE INDEX IF NOT EXISTS idx_products_rating ON products (rating, id);
+CREATE INDEX IF NOT EXISTS idx_products_created_at ON products (created_at, id);
+
+-- Cart and wishlist lookups by owner, and product deletes that must find referencing rows
+CREATE INDEX IF NOT EXISTS idx_cart_items_cart_product ON cart_items (cart_id, product_id);
+CREATE INDEX IF NOT EXISTS idx_cart_items_product ON cart_items (product_id);
+CREATE INDEX IF NOT EXISTS idx_wishlist_products_product ON wishlist_products (product_id);
+
+-- Token maintenance: family revocation, expiry purges and incremental revocation refresh
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_family ON refresh_tokens (family_id);
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_expires_at ON refresh_tokens (expires_at);
+CREATE INDEX IF NOT EXISTS idx_revoked_tokens_revoked_at ON revoked_tokens (revoked_at);
+CREATE INDEX IF NOT EXISTS idx_revoked_tokens_expires_at ON revoked_tokens (expires_at);
@@ -0,0 +1,86 @@
+package com.alten.shop.benchmark;
+
+import com.alten.shop.config.AuthTokenFilter;
+import com.alten.shop.config.JwtKeyRing;
+import com.alten.shop.config.JwtUtils;
+import com.alten.shop.config.VerifiedTokenCache;
+import com.alten.shop.entity.User;
+import com.alten.shop.repository.RevokedTokenRepository;
+import com.alten.shop.service.TokenRevocationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthTokenFilterBenchmark {
+
+    private static final String SECRET = "benchmark-secret-benchmark-secret-0123456789";
+    private static final FilterChain NOOP_CHAIN = (request, response) -> {
+    };
+
+    @Param({"1000", "10000", "100000"})
+    private int activeTokens;
+
+    @Param({"false", "true"})
+    private boolean cacheEnabled;
+
+    private AuthTokenFilter filter;
+    private String[] headers;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        VerifiedTokenCache cache = new VerifiedTokenCache(
+                cacheEnabled, activeTokens * 2L, Duration.ofHours(24), new SimpleMeterRegistry());
+        JwtUtils jwtUtils = new JwtUtils(new JwtKeyRing(List.of(JwtKeyRing.hmac(SECRET)), null), 86_400_000, cache);
+        TokenRevocationService revocations = new TokenRevocationService(Mockito.mock(RevokedTokenRepository.class));
+        filter = new AuthTokenFilter(jwtUtils, email -> {
+            throw new UsernameNotFoundException(email);
+        }, revocations);
+
+        headers = new String[activeTokens];
+        for (int i = 0; i < activeTokens; i++) {
+            User user = new User();
+            user.setId((long) i + 1);
+            user.setUsername("user" + i);
+            user.setFirstname("User");
+            user.setEmail("user" + i + "@test.com");
+            headers[i] = "Bearer " + jwtUtils.generateToken(user);
+        }
+
+        // Touch every token once so the cached variant measures steady-state hits
+        for (String header : headers) {
+            filter(header);
+        }
+    }
+
+    @Benchmark
+    public Object authenticate() throws Exception {
+        String header = headers[next];
+        next = next + 1 == headers.length ? 0 : next + 1;
+        return filter(header);
+    }
+
+    private Object filter(String header) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/products");
+        request.addHeader("Authorization", header);
+        filter.doFilter(request, new MockHttpServletResponse(), NOOP_CHAIN);
+        Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        SecurityContextHolder.clearContext();
+        return principal;
+    }
+}
@@ -0,0 +1,97 @@
+package com.alten.shop.benchmark;
+
+import com.alten.shop.dto.response.ProductResponse;
+import com.alten.shop.entity.Product;
+import com.alten.shop.service.CatalogIndex;
+import com.alten.shop.service.ProductCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class CatalogIndexBenchmark {
+
+    private static final int PRODUCTS = 1_000_000;
+    private static final int CATEGORIES = 50;
+
+    @Param({"id", "price", "name", "rating"})
+    private String sort;
+
+    private CatalogIndex catalogIndex;
+    private Pageable firstPage;
+    private Pageable deepPage;
+    private ProductResponse repriced;
+    private double nextPrice = 1;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        LocalDateTime now = LocalDateTime.now();
+        List<ProductResponse> products = new ArrayList<>(PRODUCTS);
+        for (long id = 1; id <= PRODUCTS; id++) {
+            products.add(new ProductResponse(id, "CODE" + id, "Product " + random.nextInt(PRODUCTS), "Description",
+                    "image.jpg", "Category " + (id % CATEGORIES), Math.round(random.nextDouble(1, 2000) * 100) / 100.0,
+                    10, "REF-" + id, 1L, Product.InventoryStatus.INSTOCK, random.nextInt(6), now.minusMinutes(id), now));
+        }
+        Map<Long, ProductResponse> byId = new HashMap<>();
+        products.forEach(product -> byId.put(product.id(), product));
+        // Page rows come from ProductCache; this one is a plain map, so the benchmark measures the index itself
+        ProductCache productCache = new ProductCache(null, new SimpleMeterRegistry(), false, 0, Duration.ZERO) {
+            @Override
+            public Map<Long, ProductResponse> getAll(Collection<Long> ids) {
+                Map<Long, ProductResponse> found = new HashMap<>();
+                ids.forEach(id -> found.put(id, byId.get(id)));
+                return found;
+            }
+        };
+        catalogIndex = new CatalogIndex(null, productCache, true);
+        catalogIndex.replaceAll(products);
+        firstPage = PageRequest.of(0, 20, Sort.by(sort));
+        deepPage = PageRequest.of(50, 20, Sort.by(sort));
+        repriced = products.get(PRODUCTS / 2);
+    }
+
+    @Benchmark
+    public Page<ProductResponse> categoryWithPriceRange() {
+        return catalogIndex.query(Optional.of("Category 7"), Optional.of(100.0), Optional.of(500.0), firstPage).orElseThrow();
+    }
+
+    @Benchmark
+    public Page<ProductResponse> wholeCatalog() {
+        return catalogIndex.query(Optional.empty(), Optional.empty(), Optional.empty(), firstPage).orElseThrow();
+    }
+
+    @Benchmark
+    public Page<ProductResponse> wholeCatalogDeepPage() {
+        return catalogIndex.query(Optional.empty(), Optional.of(100.0), Optional.of(500.0), deepPage).orElseThrow();
+    }
+
+    // A single write patches one category segment; queries on the old snapshot are unaffected
+    @Benchmark
+    public void put() {
+        nextPrice = nextPrice % 2000 + 1;
+        catalogIndex.put(new ProductResponse(repriced.id(), repriced.code(), repriced.name(), repriced.description(),
+                repriced.image(), repriced.category(), nextPrice, repriced.quantity(), repriced.internalReference(),
+                repriced.shellId(), repriced.inventoryStatus(), repriced.rating(), repriced.createdAt(),
+                repriced.updatedAt()));
+    }
+}
@@ -0,0 +1,82 @@
+package com.alten.shop.benchmark;
+
+import com.alten.shop.config.JwtAlgorithm;
+import com.alten.shop.config.JwtKeyRing;
+import com.alten.shop.config.JwtUtils;
+import com.alten.shop.config.UserPrincipal;
+import com.alten.shop.config.VerifiedTokenCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtSigningBenchmark {
+
+    private static final String SECRET = "benchmark-secret-benchmark-secret-0123456789";
+    private static final int TOKENS = 1024;
+
+    @Param({"HS256", "ES256", "EDDSA"})
+    private JwtAlgorithm algorithm;
+
+    private JwtUtils jwtUtils;
+    private UserPrincipal principal;
+    private String[] tokens;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        JwtKeyRing keyRing = new JwtKeyRing(List.of(signingKey()), kid());
+        // Cache off: every verify pays the full signature check
+        VerifiedTokenCache cache = new VerifiedTokenCache(false, 1, Duration.ofMinutes(1), new SimpleMeterRegistry());
+        jwtUtils = new JwtUtils(keyRing, 86_400_000, cache);
+        principal = new UserPrincipal(1L, "user@test.com", "user", "User", null);
+
+        tokens = new String[TOKENS];
+        for (int i = 0; i < TOKENS; i++) {
+            tokens[i] = jwtUtils.generateToken(new UserPrincipal((long) i + 1, "user" + i + "@test.com", "user" + i, "User", null));
+        }
+    }
+
+    private String kid() {
+        return algorithm == JwtAlgorithm.HS256 ? JwtKeyRing.HMAC_KID : "bench";
+    }
+
+    private JwtKeyRing.SigningKey signingKey() throws Exception {
+        return switch (algorithm) {
+            case HS256 -> JwtKeyRing.hmac(SECRET);
+            case ES256 -> {
+                KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+                generator.initialize(new ECGenParameterSpec("secp256r1"));
+                KeyPair keyPair = generator.generateKeyPair();
+                yield JwtKeyRing.asymmetric("bench", algorithm, keyPair.getPrivate(), keyPair.getPublic());
+            }
+            case EDDSA -> {
+                KeyPair keyPair = KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+                yield JwtKeyRing.asymmetric("bench", algorithm, keyPair.getPrivate(), keyPair.getPublic());
+            }
+        };
+    }
+
+    @Benchmark
+    public String sign() {
+        return jwtUtils.generateToken(principal);
+    }
+
+    @Benchmark
+    public Object verify() {
+        String token = tokens[next];
+        next = next + 1 == tokens.length ? 0 : next + 1;
+        return jwtUtils.verify(token);
+    }
+}
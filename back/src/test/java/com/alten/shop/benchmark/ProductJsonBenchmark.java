@@ -0,0 +1,89 @@
+package com.alten.shop.benchmark;
+
+import com.alten.shop.config.ProductJsonFragments;
+import com.alten.shop.dto.response.ApiResponse;
+import com.alten.shop.dto.response.CartItemResponse;
+import com.alten.shop.dto.response.CartResponse;
+import com.alten.shop.dto.response.ProductPageResponse;
+import com.alten.shop.dto.response.ProductResponse;
+import com.alten.shop.entity.Product;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Compare the reflective and fragment variants of each payload; the gc profiler (-prof gc) shows the allocation side
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductJsonBenchmark {
+
+    private ObjectMapper reflectiveMapper;
+    private ObjectMapper fragmentMapper;
+    private ApiResponse cart;
+    private ApiResponse page;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        reflectiveMapper = mapper().build();
+        fragmentMapper = mapper()
+                .addModule(new ProductJsonFragments(new SimpleMeterRegistry(), 20_000).module())
+                .build();
+
+        SplittableRandom random = new SplittableRandom(42);
+        LocalDateTime now = LocalDateTime.now();
+        List<ProductResponse> products = new ArrayList<>(100);
+        for (long id = 1; id <= 100; id++) {
+            products.add(new ProductResponse(id, "CODE" + id, "Product " + random.nextInt(1000),
+                    "A reasonably long product description used by the storefront", "product-" + id + ".jpg",
+                    "Category " + (id % 10), Math.round(random.nextDouble(1, 2000) * 100) / 100.0, 10, "REF-" + id,
+                    1L, Product.InventoryStatus.INSTOCK, random.nextInt(6), now.minusDays(id), now.minusMinutes(id)));
+        }
+        List<CartItemResponse> items = new ArrayList<>(50);
+        for (int i = 0; i < 50; i++) {
+            items.add(new CartItemResponse((long) i, products.get(i), 1 + random.nextInt(5)));
+        }
+        cart = ApiResponse.success("Cart", new CartResponse(1L, items, now));
+        page = ApiResponse.success("Products", new ProductPageResponse(products, 0, 100, true, 5_000L, 50, "exact"));
+
+        // Fill the fragment cache so the measurement covers the steady state of a warm catalog
+        fragmentMapper.writeValueAsBytes(page);
+    }
+
+    private static JsonMapper.Builder mapper() {
+        return JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    @Benchmark
+    public byte[] cart50Reflective() throws Exception {
+        return reflectiveMapper.writeValueAsBytes(cart);
+    }
+
+    @Benchmark
+    public byte[] cart50Fragments() throws Exception {
+        return fragmentMapper.writeValueAsBytes(cart);
+    }
+
+    @Benchmark
+    public byte[] page100Reflective() throws Exception {
+        return reflectiveMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] page100Fragments() throws Exception {
+        return fragmentMapper.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,166 @@
+package com.alten.shop.benchmark;
+
+import com.alten.shop.dto.response.ProductResponse;
+import com.alten.shop.entity.Cart;
+import com.alten.shop.entity.CartItem;
+import com.alten.shop.entity.Product;
+import com.alten.shop.entity.User;
+import com.alten.shop.entity.Wishlist;
+import com.alten.shop.repository.CartItemRow;
+import com.alten.shop.repository.CartRepository;
+import com.alten.shop.repository.ProductRepository;
+import com.alten.shop.repository.UserRepository;
+import com.alten.shop.repository.WishlistProductRow;
+import com.alten.shop.repository.WishlistRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+// Entity vs projection reads behind /products, /cart and /wishlist against an in-memory H2 catalog;
+// the gc profiler (-prof gc) shows the allocation side
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductReadPathBenchmark {
+
+    private static final int PRODUCTS = 1_000;
+    private static final int LINES = 50;
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate readOnly;
+    private ProductRepository productRepository;
+    private CartRepository cartRepository;
+    private WishlistRepository wishlistRepository;
+    private Pageable page;
+    private Long userId;
+
+    @Configuration
+    @EnableAutoConfiguration
+    @EntityScan(basePackageClasses = Product.class)
+    @EnableJpaRepositories(basePackageClasses = ProductRepository.class)
+    static class Persistence {
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(Persistence.class)
+                .web(WebApplicationType.NONE)
+                // Arguments, not default properties: they have to win over the PostgreSQL settings in application.yml
+                .run("--spring.datasource.url=jdbc:h2:mem:read-paths;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.flyway.enabled=false",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect");
+        productRepository = context.getBean(ProductRepository.class);
+        cartRepository = context.getBean(CartRepository.class);
+        wishlistRepository = context.getBean(WishlistRepository.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+        page = PageRequest.of(0, 100);
+
+        new TransactionTemplate(context.getBean(PlatformTransactionManager.class)).executeWithoutResult(status -> {
+            User user = new User();
+            user.setUsername("bench");
+            user.setFirstname("Bench");
+            user.setEmail("bench@example.com");
+            user.setPassword("password123");
+            userId = context.getBean(UserRepository.class).save(user).getId();
+
+            Cart cart = new Cart();
+            cart.setUser(user);
+            Wishlist wishlist = new Wishlist();
+            wishlist.setUser(user);
+            for (int i = 1; i <= PRODUCTS; i++) {
+                Product product = new Product();
+                product.setCode("CODE" + i);
+                product.setName("Product " + i);
+                product.setDescription("A reasonably long product description used by the storefront ".repeat(8));
+                product.setImage("product-" + i + ".jpg");
+                product.setCategory("Category " + (i % 10));
+                product.setPrice(10.0 + i);
+                product.setQuantity(10);
+                product.setInternalReference("REF-" + i);
+                product.setShellId(1L);
+                product.setInventoryStatus(Product.InventoryStatus.INSTOCK);
+                product.setRating(i % 6);
+                Product saved = productRepository.save(product);
+                if (i <= LINES) {
+                    CartItem item = new CartItem();
+                    item.setProduct(saved);
+                    item.setQuantity(1);
+                    cart.getItems().add(item);
+                    wishlist.getProducts().add(saved);
+                }
+            }
+            cartRepository.save(cart);
+            wishlistRepository.save(wishlist);
+        });
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ProductResponse> productsEntities() {
+        return readOnly.execute(status -> productRepository.findAll(page).map(ProductResponse::fromEntity).getContent());
+    }
+
+    @Benchmark
+    public List<ProductResponse> productsProjection() {
+        return readOnly.execute(status -> productRepository.findSummaries((root, query, cb) -> null, page).getContent());
+    }
+
+    @Benchmark
+    public List<ProductResponse> cartEntities() {
+        return readOnly.execute(status -> cartRepository.findByUserId(userId).orElseThrow().getItems().stream()
+                .map(item -> ProductResponse.fromEntity(item.getProduct()))
+                .toList());
+    }
+
+    // Cache-miss path: item rows, then one IN query for their products
+    @Benchmark
+    public List<ProductResponse> cartProjection() {
+        return readOnly.execute(status -> productRepository.findResponsesByIdIn(
+                cartRepository.findItemRowsByUserId(userId).stream()
+                        .map(CartItemRow::productId)
+                        .filter(Objects::nonNull)
+                        .toList()));
+    }
+
+    @Benchmark
+    public List<ProductResponse> wishlistEntities() {
+        return readOnly.execute(status -> wishlistRepository.findByUserId(userId).orElseThrow().getProducts().stream()
+                .map(ProductResponse::fromEntity)
+                .toList());
+    }
+
+    @Benchmark
+    public List<ProductResponse> wishlistProjection() {
+        return readOnly.execute(status -> productRepository.findResponsesByIdIn(
+                wishlistRepository.findProductRowsByUserId(userId).stream()
+                        .map(WishlistProductRow::productId)
+                        .filter(Objects::nonNull)
+                        .toList()));
+    }
+}
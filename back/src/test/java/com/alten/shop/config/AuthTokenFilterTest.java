@@ -0,0 +1,171 @@
+package com.alten.shop.config;
+
+import com.alten.shop.service.TokenRevocationService;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuthTokenFilterTest {
+
+    private static final FilterChain NOOP_CHAIN = (request, response) -> {
+    };
+
+    @Mock
+    private JwtUtils jwtUtils;
+
+    @Mock
+    private UserDetailsService userDetailsService;
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private static VerifiedToken claimsToken(long userId) {
+        return new VerifiedToken("john@example.com", Instant.now(), Instant.now().plusSeconds(900), Map.of(
+                "jti", "token-1",
+                JwtUtils.CLAIM_USER_ID, userId,
+                JwtUtils.CLAIM_USERNAME, "john",
+                JwtUtils.CLAIM_FIRSTNAME, "John"));
+    }
+
+    private static VerifiedToken legacyToken() {
+        return new VerifiedToken("john@example.com", Instant.now(), Instant.now().plusSeconds(900),
+                Map.of("jti", "token-1"));
+    }
+
+    private static UserPrincipal storedUser(long id) {
+        return new UserPrincipal(id, "john@example.com", "john", "John", "hashed");
+    }
+
+    private Authentication perform(AuthTokenFilter filter) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/products");
+        request.addHeader("Authorization", "Bearer jwt");
+        filter.doFilter(request, new MockHttpServletResponse(), NOOP_CHAIN);
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    @Test
+    void shouldAuthenticateFromClaims_WithoutLoadingUser() throws Exception {
+        // Given
+        when(jwtUtils.verify("jwt")).thenReturn(claimsToken(1L));
+        AuthTokenFilter filter = new AuthTokenFilter(jwtUtils, userDetailsService, tokenRevocationService);
+
+        // When
+        Authentication authentication = perform(filter);
+
+        // Then
+        assertNotNull(authentication);
+        UserPrincipal principal = assertInstanceOf(UserPrincipal.class, authentication.getPrincipal());
+        assertEquals(1L, principal.getId());
+        assertEquals("john@example.com", principal.getEmail());
+        assertEquals("John", principal.getFirstname());
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void shouldNotAuthenticate_WhenTokenIsRevoked() throws Exception {
+        // Given
+        when(jwtUtils.verify("jwt")).thenReturn(claimsToken(1L));
+        when(tokenRevocationService.isRevoked("token-1")).thenReturn(true);
+        AuthTokenFilter filter = new AuthTokenFilter(jwtUtils, userDetailsService, tokenRevocationService);
+
+        // When
+        Authentication authentication = perform(filter);
+
+        // Then
+        assertNull(authentication);
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void shouldLoadUserBySubject_WhenTokenHasNoPrincipalClaims() throws Exception {
+        // Given
+        UserPrincipal stored = storedUser(1L);
+        when(jwtUtils.verify("jwt")).thenReturn(legacyToken());
+        when(userDetailsService.loadUserByUsername("john@example.com")).thenReturn(stored);
+        when(jwtUtils.validateToken(any(VerifiedToken.class), eq(stored))).thenReturn(true);
+        AuthTokenFilter filter = new AuthTokenFilter(jwtUtils, userDetailsService, tokenRevocationService);
+
+        // When
+        Authentication authentication = perform(filter);
+
+        // Then
+        assertNotNull(authentication);
+        assertSame(stored, authentication.getPrincipal());
+    }
+
+    @Test
+    void shouldNotAuthenticate_WhenLegacyTokenDoesNotMatchUser() throws Exception {
+        // Given
+        UserPrincipal stored = storedUser(1L);
+        when(jwtUtils.verify("jwt")).thenReturn(legacyToken());
+        when(userDetailsService.loadUserByUsername("john@example.com")).thenReturn(stored);
+        when(jwtUtils.validateToken(any(VerifiedToken.class), eq(stored))).thenReturn(false);
+        AuthTokenFilter filter = new AuthTokenFilter(jwtUtils, userDetailsService, tokenRevocationService);
+
+        // When
+        Authentication authentication = perform(filter);
+
+        // Then
+        assertNull(authentication);
+    }
+
+    @Test
+    void shouldRevalidateOncePerInterval() throws Exception {
+        // Given
+        UserPrincipal stored = storedUser(1L);
+        when(jwtUtils.verify("jwt")).thenReturn(claimsToken(1L));
+        when(userDetailsService.loadUserByUsername("john@example.com")).thenReturn(stored);
+        AuthTokenFilter filter = new AuthTokenFilter(jwtUtils, userDetailsService, tokenRevocationService,
+                Duration.ofMinutes(5));
+
+        // When
+        Authentication first = perform(filter);
+        Authentication second = perform(filter);
+
+        // Then
+        assertSame(stored, first.getPrincipal());
+        UserPrincipal fromClaims = assertInstanceOf(UserPrincipal.class, second.getPrincipal());
+        assertEquals(1L, fromClaims.getId());
+        verify(userDetailsService, times(1)).loadUserByUsername("john@example.com");
+    }
+
+    @Test
+    void shouldNotAuthenticate_WhenRevalidatedUserHasDifferentId() throws Exception {
+        // Given
+        when(jwtUtils.verify("jwt")).thenReturn(claimsToken(1L));
+        when(userDetailsService.loadUserByUsername("john@example.com")).thenReturn(storedUser(2L));
+        AuthTokenFilter filter = new AuthTokenFilter(jwtUtils, userDetailsService, tokenRevocationService,
+                Duration.ofMinutes(5));
+
+        // When
+        Authentication first = perform(filter);
+        Authentication second = perform(filter);
+
+        // Then
+        assertNull(first);
+        assertNull(second);
+        verify(userDetailsService, times(2)).loadUserByUsername("john@example.com");
+    }
+}
@@ -0,0 +1,245 @@
+package com.alten.shop.config;
+
+import com.alten.shop.entity.User;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtUtilsTest {
+
+    private static final String SECRET = "test-secret-test-secret-test-secret-0123456789";
+
+    private JwtUtils jwtUtils;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtils = new JwtUtils(hmacRing(SECRET), 60_000, tokenCache(false));
+    }
+
+    private static JwtKeyRing hmacRing(String secret) {
+        return new JwtKeyRing(List.of(JwtKeyRing.hmac(secret)), null);
+    }
+
+    private static JwtKeyRing.SigningKey ed25519(String kid) throws Exception {
+        KeyPair keyPair = KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+        return JwtKeyRing.asymmetric(kid, JwtAlgorithm.EDDSA, keyPair.getPrivate(), keyPair.getPublic());
+    }
+
+    private static JwtKeyRing.SigningKey es256(String kid) throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+        KeyPair keyPair = generator.generateKeyPair();
+        return JwtKeyRing.asymmetric(kid, JwtAlgorithm.ES256, keyPair.getPrivate(), keyPair.getPublic());
+    }
+
+    private static JwtKeyRing.SigningKey verifyOnly(JwtKeyRing.SigningKey key) {
+        return new JwtKeyRing.SigningKey(key.kid(), key.algorithm(), null, key.verificationKey());
+    }
+
+    private VerifiedTokenCache tokenCache(boolean enabled) {
+        return new VerifiedTokenCache(enabled, 100, Duration.ofMinutes(5), new SimpleMeterRegistry());
+    }
+
+    private User createUser() {
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("testuser");
+        user.setFirstname("Test");
+        user.setEmail("test@test.com");
+        user.setPassword("password");
+        return user;
+    }
+
+    @Test
+    void shouldVerifyGeneratedToken() {
+        // Given
+        String token = jwtUtils.generateToken(createUser());
+
+        // When
+        VerifiedToken verified = jwtUtils.verify(token);
+
+        // Then
+        assertEquals("test@test.com", verified.subject());
+        assertNotNull(verified.issuedAt());
+        assertTrue(verified.expiration().isAfter(Instant.now()));
+        assertFalse(verified.isExpired());
+    }
+
+    @Test
+    void shouldEmbedPrincipalClaims() {
+        // Given
+        String token = jwtUtils.generateToken(createUser());
+
+        // When
+        UserPrincipal principal = UserPrincipal.fromToken(jwtUtils.verify(token));
+
+        // Then
+        assertNotNull(principal);
+        assertEquals(1L, principal.getId());
+        assertEquals("test@test.com", principal.getEmail());
+        assertEquals("testuser", principal.getUsername());
+        assertEquals("Test", principal.getFirstname());
+        assertNull(principal.getPassword());
+    }
+
+    @Test
+    void shouldValidateTokenAgainstUserDetails() {
+        // Given
+        User user = createUser();
+        VerifiedToken verified = jwtUtils.verify(jwtUtils.generateToken(user));
+
+        // When & Then
+        assertTrue(jwtUtils.validateToken(verified, user));
+    }
+
+    @Test
+    void shouldRejectTamperedToken() {
+        // Given
+        String token = jwtUtils.generateToken(createUser());
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        // When & Then
+        assertThrows(JwtException.class, () -> jwtUtils.verify(tampered));
+    }
+
+    @Test
+    void shouldRejectTokenSignedWithAnotherKey() {
+        // Given
+        JwtUtils other = new JwtUtils(hmacRing("another-secret-another-secret-another-secret-42"), 60_000, tokenCache(false));
+        String token = other.generateToken(createUser());
+
+        // When & Then
+        assertThrows(JwtException.class, () -> jwtUtils.verify(token));
+    }
+
+    @Test
+    void shouldReuseVerifiedToken_WhenCacheEnabled() {
+        // Given
+        JwtUtils cached = new JwtUtils(hmacRing(SECRET), 60_000, tokenCache(true));
+        String token = cached.generateToken(createUser());
+
+        // When
+        VerifiedToken first = cached.verify(token);
+        VerifiedToken second = cached.verify(token);
+
+        // Then
+        assertSame(first, second);
+    }
+
+    @Test
+    void shouldVerifyAgain_AfterEviction() {
+        // Given
+        JwtUtils cached = new JwtUtils(hmacRing(SECRET), 60_000, tokenCache(true));
+        String token = cached.generateToken(createUser());
+        VerifiedToken first = cached.verify(token);
+
+        // When
+        cached.evictVerified(token);
+        VerifiedToken second = cached.verify(token);
+
+        // Then
+        assertNotSame(first, second);
+        assertEquals(first, second);
+    }
+
+    @Test
+    void shouldSignAndVerifyWithEd25519() throws Exception {
+        // Given
+        JwtUtils ed = new JwtUtils(new JwtKeyRing(List.of(ed25519("ed-1")), "ed-1"), 60_000, tokenCache(false));
+
+        // When
+        VerifiedToken verified = ed.verify(ed.generateToken(createUser()));
+
+        // Then
+        assertEquals("test@test.com", verified.subject());
+    }
+
+    @Test
+    void shouldSignAndVerifyWithEs256() throws Exception {
+        // Given
+        JwtUtils ec = new JwtUtils(new JwtKeyRing(List.of(es256("ec-1")), "ec-1"), 60_000, tokenCache(false));
+
+        // When
+        VerifiedToken verified = ec.verify(ec.generateToken(createUser()));
+
+        // Then
+        assertEquals("test@test.com", verified.subject());
+    }
+
+    @Test
+    void shouldVerifyTokensOfRetiredKey_AfterRotation() throws Exception {
+        // Given
+        JwtKeyRing.SigningKey oldKey = ed25519("ed-1");
+        JwtKeyRing.SigningKey newKey = ed25519("ed-2");
+        JwtUtils before = new JwtUtils(new JwtKeyRing(List.of(oldKey, newKey), "ed-1"), 60_000, tokenCache(false));
+        String oldToken = before.generateToken(createUser());
+
+        // When
+        JwtUtils after = new JwtUtils(new JwtKeyRing(List.of(verifyOnly(oldKey), newKey), "ed-2"), 60_000, tokenCache(false));
+        JwtUtils dropped = new JwtUtils(new JwtKeyRing(List.of(newKey), "ed-2"), 60_000, tokenCache(false));
+
+        // Then
+        assertEquals("test@test.com", after.verify(oldToken).subject());
+        assertEquals("test@test.com", after.verify(after.generateToken(createUser())).subject());
+        assertThrows(JwtException.class, () -> dropped.verify(oldToken));
+    }
+
+    @Test
+    void shouldVerifyLegacyHmacToken_AfterSwitchingToAsymmetricKey() throws Exception {
+        // Given
+        String legacyToken = Jwts.builder()
+                .subject("test@test.com")
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), Jwts.SIG.HS256)
+                .compact();
+        JwtKeyRing ring = new JwtKeyRing(List.of(JwtKeyRing.hmac(SECRET), ed25519("ed-1")), "ed-1");
+
+        // When
+        JwtUtils switched = new JwtUtils(ring, 60_000, tokenCache(false));
+
+        // Then
+        assertEquals("test@test.com", switched.verify(legacyToken).subject());
+        assertEquals(JwtAlgorithm.EDDSA, ring.getActiveAlgorithm());
+    }
+
+    @Test
+    void shouldRejectRetiredKeyAsActiveSigner() throws Exception {
+        // Given
+        JwtKeyRing.SigningKey retired = verifyOnly(ed25519("ed-1"));
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> new JwtKeyRing(List.of(retired), "ed-1"));
+    }
+
+    @Test
+    void shouldPublishOnlyPublicKeys() throws Exception {
+        // Given
+        JwtKeyRing ring = new JwtKeyRing(List.of(JwtKeyRing.hmac(SECRET), ed25519("ed-1"), es256("ec-1")), "ed-1");
+
+        // When
+        List<Map<String, Object>> jwks = ring.publicJwks();
+
+        // Then
+        assertEquals(2, jwks.size());
+        assertEquals("OKP", jwks.get(0).get("kty"));
+        assertEquals("ed-1", jwks.get(0).get("kid"));
+        assertEquals("EC", jwks.get(1).get("kty"));
+        assertEquals(43, ((String) jwks.get(1).get("x")).length());
+        assertTrue(jwks.stream().noneMatch(jwk -> jwk.containsKey("k") || jwk.containsKey("d")));
+    }
+}
@@ -0,0 +1,137 @@
+package com.alten.shop.config;
+
+import com.alten.shop.dto.response.ApiResponse;
+import com.alten.shop.dto.response.CartItemResponse;
+import com.alten.shop.dto.response.CartResponse;
+import com.alten.shop.dto.response.ProductResponse;
+import com.alten.shop.entity.Product;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductJsonFragmentsTest {
+
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2026, 10, 1, 12, 30, 15, 123_000_000);
+
+    private SimpleMeterRegistry meterRegistry;
+    private ObjectMapper plainMapper;
+    private ObjectMapper fragmentMapper;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        plainMapper = mapper().build();
+        fragmentMapper = mapper()
+                .addModule(new ProductJsonFragments(meterRegistry, 100).module())
+                .build();
+    }
+
+    private static JsonMapper.Builder mapper() {
+        return JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    private static ProductResponse product(long id, String name) {
+        return product(id, name, "Description", UPDATED_AT);
+    }
+
+    private static ProductResponse product(long id, String name, String description, LocalDateTime updatedAt) {
+        return new ProductResponse(id, "CODE" + id, name, description, "image.jpg", "Accessories", 65.0, 24,
+                "REF-" + id, 15L, Product.InventoryStatus.INSTOCK, 5, UPDATED_AT.minusDays(1), updatedAt);
+    }
+
+    private double hits() {
+        return meterRegistry.get("cache.gets").tag("cache", "product-json").tag("result", "hit")
+                .functionCounter().count();
+    }
+
+    @Test
+    void shouldWriteSameJsonAsPlainSerialization() throws Exception {
+        // Given
+        CartResponse cart = new CartResponse(1L, List.of(
+                new CartItemResponse(10L, product(1L, "Bamboo Watch"), 2),
+                new CartItemResponse(11L, product(2L, "Black \"Watch\" ü"), 1)), UPDATED_AT);
+        ApiResponse response = ApiResponse.success("Cart", cart);
+
+        // When
+        String first = fragmentMapper.writeValueAsString(response);
+        byte[] second = fragmentMapper.writeValueAsBytes(response);
+
+        // Then
+        assertEquals(plainMapper.writeValueAsString(response), first);
+        assertArrayEquals(plainMapper.writeValueAsBytes(response), second);
+        assertEquals(2, hits());
+    }
+
+    @Test
+    void shouldRenderAgain_WhenUpdatedAtChanged() throws Exception {
+        // Given
+        fragmentMapper.writeValueAsString(product(1L, "Bamboo Watch"));
+        ProductResponse renamed = product(1L, "Renamed Watch", "Description", UPDATED_AT.plusSeconds(1));
+
+        // When
+        String json = fragmentMapper.writeValueAsString(renamed);
+
+        // Then
+        assertEquals(plainMapper.writeValueAsString(renamed), json);
+        assertEquals(0, hits());
+    }
+
+    @Test
+    void shouldKeepOneFragmentPerDescriptionVariant() throws Exception {
+        // Given
+        ProductResponse listRow = product(1L, "Bamboo Watch", null, UPDATED_AT);
+        ProductResponse detail = product(1L, "Bamboo Watch");
+        fragmentMapper.writeValueAsString(listRow);
+        fragmentMapper.writeValueAsString(detail);
+
+        // When
+        String listJson = fragmentMapper.writeValueAsString(listRow);
+        String detailJson = fragmentMapper.writeValueAsString(detail);
+
+        // Then
+        assertEquals(plainMapper.writeValueAsString(listRow), listJson);
+        assertEquals(plainMapper.writeValueAsString(detail), detailJson);
+        assertEquals(2, hits());
+    }
+
+    @Test
+    void shouldSerializeNormally_WhenWritingToTree() throws Exception {
+        // Given
+        fragmentMapper.writeValueAsString(product(1L, "Bamboo Watch"));
+
+        // When
+        JsonNode tree = fragmentMapper.valueToTree(ApiResponse.success("Product", product(1L, "Bamboo Watch")));
+
+        // Then
+        assertEquals("Bamboo Watch", tree.path("data").path("name").asText());
+        assertEquals(0, hits());
+    }
+
+    @Test
+    void shouldSerializeNormally_WhenBypassAttributeIsSet() throws Exception {
+        // Given
+        ProductResponse product = product(1L, "Bamboo Watch");
+        fragmentMapper.writeValueAsString(product);
+
+        // When
+        String json = fragmentMapper.writerFor(ProductResponse.class)
+                .withAttribute(ProductJsonFragments.BYPASS_ATTRIBUTE, true)
+                .writeValueAsString(product);
+
+        // Then
+        assertEquals(plainMapper.writeValueAsString(product), json);
+        assertEquals(0, hits());
+    }
+}
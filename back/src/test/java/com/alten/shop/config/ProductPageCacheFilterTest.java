@@ -0,0 +1,192 @@
+package com.alten.shop.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductPageCacheFilterTest {
+
+    private static final String BODY = "{\"success\":true,\"data\":[{\"id\":1,\"name\":\"Bamboo Watch\"}]}";
+
+    private final AtomicLong version = new AtomicLong(1);
+    private final AtomicInteger chainCalls = new AtomicInteger();
+    private ProductPageCacheFilter filter;
+
+    private final FilterChain controller = (request, response) -> {
+        chainCalls.incrementAndGet();
+        HttpServletResponse http = (HttpServletResponse) response;
+        http.setContentType("application/json");
+        http.setHeader("ETag", "\"catalog-test-" + version.get() + "\"");
+        http.getOutputStream().write(BODY.getBytes(StandardCharsets.UTF_8));
+    };
+
+    @BeforeEach
+    void setUp() {
+        filter = new ProductPageCacheFilter(version::get, new SimpleMeterRegistry(), 1 << 20, Duration.ofMinutes(10));
+    }
+
+    private MockHttpServletResponse perform(Map<String, String> parameters, String acceptEncoding) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/products");
+        request.setContextPath("/api");
+        request.setParameters(parameters);
+        if (acceptEncoding != null) {
+            request.addHeader("Accept-Encoding", acceptEncoding);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, controller);
+        return response;
+    }
+
+    @Test
+    void shouldServeSecondIdenticalRequestFromCache() throws Exception {
+        // Given
+        MockHttpServletResponse first = perform(Map.of("category", "Accessories"), null);
+
+        // When
+        MockHttpServletResponse second = perform(Map.of("category", "Accessories"), null);
+
+        // Then
+        assertEquals(1, chainCalls.get());
+        assertEquals("MISS", first.getHeader("X-Cache"));
+        assertEquals(BODY, first.getContentAsString());
+        assertEquals("HIT", second.getHeader("X-Cache"));
+        assertEquals(BODY, second.getContentAsString());
+        assertEquals("\"catalog-test-1\"", second.getHeader("ETag"));
+        assertTrue(second.getContentType().startsWith("application/json"));
+    }
+
+    @Test
+    void shouldServeGzipVariant_WhenClientAcceptsIt() throws Exception {
+        // Given
+        perform(Map.of(), null);
+
+        // When
+        MockHttpServletResponse hit = perform(Map.of(), "gzip, deflate");
+
+        // Then
+        assertEquals("gzip", hit.getHeader("Content-Encoding"));
+        assertEquals("Accept-Encoding", hit.getHeader("Vary"));
+        assertEquals("W/\"catalog-test-1\"", hit.getHeader("ETag"));
+        assertEquals(hit.getContentAsByteArray().length, hit.getContentLength());
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(hit.getContentAsByteArray()))) {
+            assertEquals(BODY, new String(gzip.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void shouldShareEntry_WhenParametersOnlySpellOutDefaults() throws Exception {
+        // Given
+        perform(Map.of(), null);
+
+        // When
+        MockHttpServletResponse response = perform(Map.of("page", "0", "size", "10", "sort", "name"), null);
+
+        // Then
+        assertEquals(1, chainCalls.get());
+        assertEquals("HIT", response.getHeader("X-Cache"));
+    }
+
+    @Test
+    void shouldMiss_WhenCatalogVersionChanged() throws Exception {
+        // Given
+        perform(Map.of(), null);
+        version.incrementAndGet();
+
+        // When
+        MockHttpServletResponse response = perform(Map.of(), null);
+
+        // Then
+        assertEquals(2, chainCalls.get());
+        assertEquals("MISS", response.getHeader("X-Cache"));
+        assertEquals("\"catalog-test-2\"", response.getHeader("ETag"));
+    }
+
+    @Test
+    void shouldKeepNewerPages_WhenRequestReadsOlderVersion() throws Exception {
+        // Given
+        version.set(2);
+        perform(Map.of(), null);
+
+        // When
+        version.set(1);
+        MockHttpServletResponse stale = perform(Map.of(), null);
+        version.set(2);
+        MockHttpServletResponse current = perform(Map.of(), null);
+
+        // Then
+        assertEquals(2, chainCalls.get());
+        assertEquals("MISS", stale.getHeader("X-Cache"));
+        assertEquals("HIT", current.getHeader("X-Cache"));
+        assertEquals("\"catalog-test-2\"", current.getHeader("ETag"));
+    }
+
+    @Test
+    void shouldNotCachePage_WhenWriteCommitsWhileItIsBuilt() throws Exception {
+        // Given
+        FilterChain racing = (request, response) -> {
+            controller.doFilter(request, response);
+            version.incrementAndGet();
+        };
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/products"), new MockHttpServletResponse(), racing);
+
+        // When
+        version.set(1);
+        MockHttpServletResponse older = perform(Map.of(), null);
+        version.set(2);
+        MockHttpServletResponse newer = perform(Map.of(), null);
+
+        // Then
+        assertEquals(3, chainCalls.get());
+        assertEquals("MISS", older.getHeader("X-Cache"));
+        assertEquals("MISS", newer.getHeader("X-Cache"));
+        assertEquals("\"catalog-test-2\"", newer.getHeader("ETag"));
+    }
+
+    @Test
+    void shouldBypassCache_ForCursorAndUnknownParameters() throws Exception {
+        // Given
+        perform(Map.of("after", "abc"), null);
+        perform(Map.of("foo", "bar"), null);
+
+        // When
+        MockHttpServletResponse response = perform(Map.of("after", "abc"), null);
+
+        // Then
+        assertEquals(3, chainCalls.get());
+        assertNull(response.getHeader("X-Cache"));
+        assertEquals(BODY, response.getContentAsString());
+    }
+
+    @Test
+    void shouldNotCacheErrorResponses() throws Exception {
+        // Given
+        FilterChain failing = (request, response) -> {
+            chainCalls.incrementAndGet();
+            ((HttpServletResponse) response).setStatus(400);
+        };
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/products");
+        request.setParameter("sort", "nope");
+        filter.doFilter(request, new MockHttpServletResponse(), failing);
+
+        // When
+        MockHttpServletResponse response = perform(Map.of("sort", "nope"), null);
+
+        // Then
+        assertEquals(2, chainCalls.get());
+        assertEquals("MISS", response.getHeader("X-Cache"));
+    }
+}
@@ -0,0 +1,93 @@
+package com.alten.shop.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitFilterTest {
+
+    private static final FilterChain NOOP_CHAIN = (request, response) -> {
+    };
+
+    private SimpleMeterRegistry meterRegistry;
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        RateLimitProperties properties = new RateLimitProperties(true, 100, Map.of(
+                "auth", new RateLimitProperties.Policy("/auth/**", 2, Duration.ofMinutes(1))));
+        filter = new RateLimitFilter(properties, meterRegistry);
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private MockHttpServletResponse perform(String path, String remoteAddr) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api" + path);
+        request.setContextPath("/api");
+        request.setRemoteAddr(remoteAddr);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, NOOP_CHAIN);
+        return response;
+    }
+
+    @Test
+    void shouldReturn429_WhenBucketIsEmpty() throws Exception {
+        // Given
+        perform("/auth/token", "10.0.0.1");
+        MockHttpServletResponse second = perform("/auth/token", "10.0.0.1");
+
+        // When
+        MockHttpServletResponse third = perform("/auth/token", "10.0.0.1");
+
+        // Then
+        assertEquals(200, second.getStatus());
+        assertEquals("0", second.getHeader("X-RateLimit-Remaining"));
+        assertEquals(429, third.getStatus());
+        assertEquals("2", third.getHeader("X-RateLimit-Limit"));
+        assertEquals("30", third.getHeader("Retry-After"));
+        assertEquals(1.0, meterRegistry.get("http.server.requests.rate-limited").tag("group", "auth").counter().count());
+    }
+
+    @Test
+    void shouldKeepSeparateBucketsPerClient() throws Exception {
+        // Given
+        perform("/auth/token", "10.0.0.1");
+        perform("/auth/token", "10.0.0.1");
+
+        // When
+        MockHttpServletResponse otherIp = perform("/auth/token", "10.0.0.2");
+        UserPrincipal principal = new UserPrincipal(1L, "test@test.com", "testuser", "Test", null);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+        MockHttpServletResponse authenticated = perform("/auth/token", "10.0.0.1");
+
+        // Then
+        assertEquals(200, otherIp.getStatus());
+        assertEquals(200, authenticated.getStatus());
+    }
+
+    @Test
+    void shouldIgnoreUnmatchedRoutes() throws Exception {
+        // When
+        MockHttpServletResponse response = perform("/products", "10.0.0.1");
+
+        // Then
+        assertEquals(200, response.getStatus());
+        assertNull(response.getHeader("X-RateLimit-Limit"));
+    }
+}
@@ -5,9 +5,12 @@ import com.alten.shop.config.JwtUtils;
 import com.alten.shop.config.SecurityConfig;
 import com.alten.shop.dto.request.AuthRequest;
 import com.alten.shop.dto.request.LoginRequest;
+import com.alten.shop.dto.request.RefreshRequest;
 import com.alten.shop.dto.response.AuthResponse;
 import com.alten.shop.dto.response.UserResponse;
+import com.alten.shop.exception.ServiceUnavailableException;
 import com.alten.shop.service.AuthService;
+import com.alten.shop.service.TokenRevocationService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -20,11 +23,15 @@ import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.Duration;
+
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -47,6 +54,8 @@ class AuthControllerTest {
     AuthEntryPointJwt unauthorizedHandler;
     @MockitoBean
     JwtUtils jwtUtils;
+    @MockitoBean
+    TokenRevocationService tokenRevocationService;
 
     @Autowired
     private ObjectMapper objectMapper;
@@ -137,4 +146,45 @@ class AuthControllerTest {
                 .hasMessageContaining("Email already in use");
     }
 
+    @Test
+    void shouldReturnServiceUnavailable_WhenPasswordHashingIsSaturated() throws Exception {
+        LoginRequest loginRequest = new LoginRequest("test@test.com", "password123");
+
+        when(authService.login(any(LoginRequest.class)))
+                .thenThrow(new ServiceUnavailableException("Authentication is temporarily overloaded", Duration.ofSeconds(2)));
+
+        mockMvc.perform(post("/auth/token")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "2"))
+                .andExpect(jsonPath("$.success").value(false));
+    }
+
+    @Test
+    void shouldRefreshToken() throws Exception {
+        UserResponse userResponse = new UserResponse(1L, "testuser", "Test User", "test@test.com");
+        AuthResponse authResponse = new AuthResponse("new-jwt", "new-refresh", userResponse);
+
+        when(authService.refresh(any(RefreshRequest.class))).thenReturn(authResponse);
+
+        mockMvc.perform(post("/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshRequest("old-refresh"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.token").value("new-jwt"))
+                .andExpect(jsonPath("$.data.refreshToken").value("new-refresh"));
+    }
+
+    @Test
+    void shouldLogout() throws Exception {
+        mockMvc.perform(post("/auth/logout")
+                        .header("Authorization", "Bearer access-token")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshRequest("refresh-token"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true));
+
+        verify(authService).logout("access-token", "refresh-token");
+    }
 }
\ No newline at end of file
@@ -10,6 +10,7 @@ import com.alten.shop.dto.response.CartResponse;
 import com.alten.shop.dto.response.ProductResponse;
 import com.alten.shop.entity.Product;
 import com.alten.shop.service.CartService;
+import com.alten.shop.service.TokenRevocationService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletResponse;
@@ -62,6 +63,9 @@ class CartControllerTest {
     @MockitoBean
     private JwtUtils jwtUtils;
 
+    @MockitoBean
+    private TokenRevocationService tokenRevocationService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -0,0 +1,62 @@
+package com.alten.shop.controller;
+
+import com.alten.shop.config.AuthEntryPointJwt;
+import com.alten.shop.config.JwtKeyRing;
+import com.alten.shop.config.JwtUtils;
+import com.alten.shop.config.SecurityConfig;
+import com.alten.shop.service.TokenRevocationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(JwksController.class)
+@Import(SecurityConfig.class)
+@TestPropertySource(properties = "app.security.enabled=true")
+class JwksControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    JwtKeyRing keyRing;
+
+    @MockitoBean
+    UserDetailsService userDetailsService;
+    @MockitoBean
+    PasswordEncoder passwordEncoder;
+    @MockitoBean
+    AuthEntryPointJwt unauthorizedHandler;
+    @MockitoBean
+    JwtUtils jwtUtils;
+    @MockitoBean
+    TokenRevocationService tokenRevocationService;
+
+    @Test
+    void shouldPublishPublicKeysWithoutAuthentication() throws Exception {
+        // Given
+        Map<String, Object> jwk = Map.of("kty", "OKP", "crv", "Ed25519", "kid", "ed-1", "x", "abc");
+        when(keyRing.publicJwks()).thenReturn(List.of(jwk));
+
+        // When & Then
+        mockMvc.perform(get("/auth/jwks.json"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "max-age=300, public"))
+                .andExpect(jsonPath("$.keys[0].kid").value("ed-1"))
+                .andExpect(jsonPath("$.keys[0].kty").value("OKP"));
+    }
+}
@@ -1,11 +1,26 @@
 package com.alten.shop.controller;
 
+import com.alten.shop.dto.request.ProductBatchRequest;
 import com.alten.shop.dto.request.ProductRequest;
+import com.alten.shop.dto.response.CursorPage;
+import com.alten.shop.dto.response.ImportReport;
+import com.alten.shop.dto.response.ProductFacetsResponse;
+import com.alten.shop.dto.response.ProductLookupResponse;
+import com.alten.shop.dto.response.ProductPageResponse;
 import com.alten.shop.dto.response.ProductResponse;
 import com.alten.shop.entity.Product;
+import com.alten.shop.exception.ServiceUnavailableException;
+import com.alten.shop.service.CatalogVersion;
+import com.alten.shop.service.ProductExportService;
+import com.alten.shop.service.ProductFacetService;
+import com.alten.shop.service.ProductFileFormat;
+import com.alten.shop.service.ProductImportService;
 import com.alten.shop.service.ProductService;
+import com.alten.shop.service.TotalsMode;
 import com.alten.shop.util.TestSecurityUtils;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -15,16 +30,35 @@ import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
 import java.util.Optional;
+import java.util.zip.GZIPInputStream;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(ProductController.class)
@@ -36,9 +70,26 @@ class ProductControllerTest {
     @MockitoBean
     private ProductService productService;
 
+    @MockitoBean
+    private ProductFacetService productFacetService;
+
+    @MockitoBean
+    private CatalogVersion catalogVersion;
+
+    @MockitoBean
+    private ProductImportService productImportService;
+
+    @MockitoBean
+    private ProductExportService productExportService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
+    @BeforeEach
+    void stubCatalogVersion() {
+        when(catalogVersion.validators()).thenReturn(new CatalogVersion.Validators("\"catalog-test-1\"", 0L));
+    }
+
     @Test
     @WithMockUser
     void shouldGetProducts() throws Exception {
@@ -58,6 +109,136 @@ class ProductControllerTest {
                 .andExpect(jsonPath("$.data.content[0].name").value("Test Product"));
     }
 
+    @Test
+    @WithMockUser
+    void shouldTagProductListWithCatalogVersion() throws Exception {
+        when(catalogVersion.validators()).thenReturn(new CatalogVersion.Validators("\"catalog-test-7\"", 0L));
+        when(productService.getProducts(any(), any(), any(), any())).thenReturn(new PageImpl<>(List.of()));
+
+        mockMvc.perform(get("/products"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"catalog-test-7\""))
+                .andExpect(header().string("Cache-Control", "no-cache, private"));
+    }
+
+    @Test
+    @WithMockUser
+    void shouldAnswerNotModified_WhenCatalogVersionMatches() throws Exception {
+        when(catalogVersion.validators()).thenReturn(new CatalogVersion.Validators("\"catalog-test-7\"", 0L));
+
+        mockMvc.perform(get("/products")
+                        .header("If-None-Match", "\"catalog-test-7\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verifyNoInteractions(productService);
+    }
+
+    @Test
+    @WithMockUser
+    void shouldGetProductsByCursor() throws Exception {
+        ProductResponse product = new ProductResponse(
+                1L, null, "Test Product", null, null, null, null, null, null, null, null, null, null, null
+        );
+
+        when(productService.getProductsAfter(any(), any(), any(), eq("name"), eq(""), eq(10)))
+                .thenReturn(new CursorPage<>(List.of(product), 10, "next-cursor", true));
+
+        mockMvc.perform(get("/products")
+                        .param("after", ""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content[0].name").value("Test Product"))
+                .andExpect(jsonPath("$.data.nextCursor").value("next-cursor"))
+                .andExpect(jsonPath("$.data.hasNext").value(true));
+    }
+
+    @Test
+    @WithMockUser
+    void shouldReturnBadRequest_WhenCursorIsInvalid() throws Exception {
+        when(productService.getProductsAfter(any(), any(), any(), any(), eq("garbage"), eq(10)))
+                .thenThrow(new IllegalArgumentException("Invalid cursor"));
+
+        mockMvc.perform(get("/products")
+                        .param("after", "garbage"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.message").value("Invalid cursor"));
+    }
+
+    @Test
+    @WithMockUser
+    void shouldReportTotalsMode() throws Exception {
+        ProductResponse product = new ProductResponse(
+                1L, null, "Test Product", null, null, null, null, null, null, null, null, null, null, null
+        );
+
+        when(productService.getProducts(any(), any(), any(), any(), eq(TotalsMode.NONE)))
+                .thenReturn(new ProductPageResponse(List.of(product), 0, 10, true, null, null, "none"));
+
+        mockMvc.perform(get("/products")
+                        .param("totals", "none"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content[0].name").value("Test Product"))
+                .andExpect(jsonPath("$.data.totals").value("none"))
+                .andExpect(jsonPath("$.data.hasNext").value(true));
+    }
+
+    @Test
+    @WithMockUser
+    void shouldRejectUnknownTotalsMode() throws Exception {
+        mockMvc.perform(get("/products")
+                        .param("totals", "approximate"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser
+    void shouldSearchProducts() throws Exception {
+        ProductResponse product = new ProductResponse(
+                1L, null, "Wireless Headphones", null, null, null, null, null, null, null, null, null, null, null
+        );
+
+        when(productService.searchProducts(eq("headphones"), eq(Optional.of("Electronics")), any(), any(), any()))
+                .thenReturn(new PageImpl<>(List.of(product)));
+
+        mockMvc.perform(get("/products/search")
+                        .param("q", "headphones")
+                        .param("category", "Electronics"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content[0].name").value("Wireless Headphones"));
+    }
+
+    @Test
+    @WithMockUser
+    void shouldReturnServiceUnavailable_WhenSearchIndexIsLoading() throws Exception {
+        when(productService.searchProducts(any(), any(), any(), any(), any()))
+                .thenThrow(new ServiceUnavailableException("Product search is still loading", Duration.ofSeconds(5)));
+
+        mockMvc.perform(get("/products/search")
+                        .param("q", "headphones"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "5"));
+    }
+
+    @Test
+    @WithMockUser
+    void shouldGetFacets() throws Exception {
+        ProductFacetsResponse facets = new ProductFacetsResponse(3,
+                List.of(new ProductFacetsResponse.FacetCount("Electronics", 3)),
+                List.of(new ProductFacetsResponse.FacetCount("INSTOCK", 3)),
+                List.of(new ProductFacetsResponse.FacetCount("5", 3)),
+                List.of(new ProductFacetsResponse.PriceBucket(0, 50, 3)));
+        when(productFacetService.getFacets(Optional.of("Electronics"), Optional.empty(), Optional.empty()))
+                .thenReturn(facets);
+
+        mockMvc.perform(get("/products/facets")
+                        .param("category", "Electronics"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.total").value(3))
+                .andExpect(jsonPath("$.data.categories[0].value").value("Electronics"))
+                .andExpect(jsonPath("$.data.prices[0].to").value(50.0));
+    }
+
     @Test
     @WithMockUser
     void shouldGetProductById() throws Exception {
@@ -74,6 +255,32 @@ class ProductControllerTest {
                 .andExpect(jsonPath("$.data.name").value("Test Product"));
     }
 
+    @Test
+    @WithMockUser
+    void shouldAnswerNotModified_WhenProductIsUnchanged() throws Exception {
+        LocalDateTime updatedAt = LocalDateTime.of(2026, 1, 15, 10, 30);
+        ProductResponse product = new ProductResponse(
+                1L, null, "Test Product", null, null, null, null, null, null, null, null, null, null, updatedAt
+        );
+        when(productService.getProduct(1L)).thenReturn(Optional.of(product));
+        when(productService.getProductUpdatedAt(1L)).thenReturn(Optional.of(updatedAt));
+        long millis = updatedAt.toInstant(ZoneOffset.UTC).toEpochMilli();
+        String etag = "\"product-1-" + millis + "\"";
+
+        mockMvc.perform(get("/products/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(header().string("Last-Modified", "Thu, 15 Jan 2026 10:30:00 GMT"));
+
+        mockMvc.perform(get("/products/1")
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        // The revalidation was answered without reading the product again
+        verify(productService, times(1)).getProduct(1L);
+    }
+
     @Test
     void shouldCreateProduct() throws Exception {
         TestSecurityUtils.setAuthUser("admin@admin.com", "admin");
@@ -106,4 +313,127 @@ class ProductControllerTest {
             TestSecurityUtils.clearAuth();
         }
     }
+
+    @Test
+    void shouldImportProducts() throws Exception {
+        TestSecurityUtils.setAuthUser("admin@admin.com", "admin");
+
+        try {
+            // Given
+            ImportReport report = new ImportReport(2, 1, 1,
+                    List.of(new ImportReport.RowError(2, "P2", "price must be greater than 0")), false, false);
+            when(productService.isAdmin("admin@admin.com")).thenReturn(true);
+            when(productImportService.importProducts(any(), eq(ProductFileFormat.CSV))).thenReturn(report);
+
+            // When & Then
+            mockMvc.perform(post("/products/import")
+                            .with(csrf())
+                            .contentType("text/csv")
+                            .content("code,name\n"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.imported").value(1))
+                    .andExpect(jsonPath("$.data.errors[0].line").value(2))
+                    .andExpect(jsonPath("$.data.errors[0].code").value("P2"));
+        } finally {
+            TestSecurityUtils.clearAuth();
+        }
+    }
+
+    @Test
+    void shouldStreamGzippedExport() throws Exception {
+        TestSecurityUtils.setAuthUser("admin@admin.com", "admin");
+
+        try {
+            // Given
+            when(productService.isAdmin("admin@admin.com")).thenReturn(true);
+            doAnswer(invocation -> {
+                invocation.<OutputStream>getArgument(0).write("{\"id\":1}\n".getBytes(StandardCharsets.UTF_8));
+                return 1L;
+            }).when(productExportService).export(any(), eq(ProductFileFormat.NDJSON), eq(Optional.of("Electronics")),
+                    eq(Optional.empty()), eq(Optional.empty()));
+
+            // When
+            MvcResult started = mockMvc.perform(get("/products/export")
+                            .param("category", "Electronics")
+                            .header("Accept-Encoding", "gzip, deflate"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            MvcResult result = mockMvc.perform(asyncDispatch(started))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("Content-Encoding", "gzip"))
+                    .andExpect(header().string("Content-Type", "application/x-ndjson"))
+                    .andReturn();
+
+            // Then
+            byte[] body = new GZIPInputStream(new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))
+                    .readAllBytes();
+            assertEquals("{\"id\":1}\n", new String(body, StandardCharsets.UTF_8));
+        } finally {
+            TestSecurityUtils.clearAuth();
+        }
+    }
+
+    @Test
+    void shouldRejectUnknownExportFormat() throws Exception {
+        TestSecurityUtils.setAuthUser("admin@admin.com", "admin");
+
+        try {
+            when(productService.isAdmin("admin@admin.com")).thenReturn(true);
+
+            mockMvc.perform(get("/products/export").param("format", "xml"))
+                    .andExpect(status().isBadRequest());
+            verifyNoInteractions(productExportService);
+        } finally {
+            TestSecurityUtils.clearAuth();
+        }
+    }
+
+    @Test
+    void shouldRefuseExport_WhenUserIsNotAdmin() {
+        TestSecurityUtils.setAuthUser("john@example.com", "john");
+
+        try {
+            when(productService.isAdmin("john@example.com")).thenReturn(false);
+
+            assertThrows(ServletException.class, () -> mockMvc.perform(get("/products/export")));
+            verifyNoInteractions(productExportService);
+        } finally {
+            TestSecurityUtils.clearAuth();
+        }
+    }
+
+    @Test
+    @WithMockUser
+    void shouldLookUpProductsByIds() throws Exception {
+        // Given
+        ProductResponse product = new ProductResponse(
+                2L, null, "Found", null, null, null, null, null, null, null, null, null, null, null
+        );
+        when(productService.getProductsByIds(List.of(2L, 9L))).thenReturn(
+                List.of(ProductLookupResponse.found(product), ProductLookupResponse.notFound(9L)));
+
+        // When & Then
+        mockMvc.perform(get("/products").param("ids", "2,9"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].found").value(true))
+                .andExpect(jsonPath("$.data[0].product.name").value("Found"))
+                .andExpect(jsonPath("$.data[1].id").value(9))
+                .andExpect(jsonPath("$.data[1].found").value(false));
+        verifyNoInteractions(catalogVersion);
+    }
+
+    @Test
+    @WithMockUser
+    void shouldLookUpProductsByIdsFromPostBody() throws Exception {
+        // Given
+        when(productService.getProductsByIds(List.of(7L))).thenReturn(List.of(ProductLookupResponse.notFound(7L)));
+
+        // When & Then
+        mockMvc.perform(post("/products/batch")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ProductBatchRequest(List.of(7L)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].found").value(false));
+    }
 }
\ No newline at end of file
@@ -4,6 +4,7 @@ import com.alten.shop.config.AuthEntryPointJwt;
 import com.alten.shop.config.JwtUtils;
 import com.alten.shop.config.SecurityConfig;
 import com.alten.shop.config.UserPrincipal;
+import com.alten.shop.service.TokenRevocationService;
 import com.alten.shop.service.WishlistService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.HttpServletResponse;
@@ -50,6 +51,8 @@ class WishlistControllerTest {
     AuthEntryPointJwt unauthorizedHandler;
     @MockitoBean
     JwtUtils jwtUtils;
+    @MockitoBean
+    TokenRevocationService tokenRevocationService;
 
     @Autowired
     ObjectMapper objectMapper;
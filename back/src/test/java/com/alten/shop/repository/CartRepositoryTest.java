@@ -1,11 +1,14 @@
 package com.alten.shop.repository;
 
 import com.alten.shop.entity.Cart;
+import com.alten.shop.entity.CartItem;
+import com.alten.shop.entity.Product;
 import com.alten.shop.entity.User;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -19,6 +22,9 @@ class CartRepositoryTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ProductRepository productRepository;
+
     @Test
     void shouldSaveAndFindCartByUser() {
         // Given
@@ -64,6 +70,52 @@ class CartRepositoryTest {
         assertFalse(found.isPresent());
     }
 
+    @Test
+    void shouldProjectCartLinesWithoutDescription() {
+        // Given
+        User savedUser = userRepository.save(createUser("rows@test.com", "rows"));
+        Product product = new Product();
+        product.setCode("ROW1");
+        product.setName("Projected");
+        product.setDescription("Long description");
+        product.setCategory("Electronics");
+        product.setPrice(12.5);
+        Product savedProduct = productRepository.save(product);
+
+        Cart cart = new Cart();
+        cart.setUser(savedUser);
+        CartItem item = new CartItem();
+        item.setProduct(savedProduct);
+        item.setQuantity(3);
+        cart.getItems().add(item);
+        cartRepository.save(cart);
+
+        // When
+        List<CartItemRow> rows = cartRepository.findItemRowsByUserId(savedUser.getId());
+
+        // Then
+        assertEquals(1, rows.size());
+        assertEquals(3, rows.getFirst().quantity());
+        assertEquals(savedProduct.getId(), rows.getFirst().productId());
+    }
+
+    @Test
+    void shouldProjectEmptyCartAsSingleRowWithoutItem() {
+        // Given
+        User savedUser = userRepository.save(createUser("emptyrows@test.com", "emptyrows"));
+        Cart cart = new Cart();
+        cart.setUser(savedUser);
+        Cart savedCart = cartRepository.save(cart);
+
+        // When
+        List<CartItemRow> rows = cartRepository.findItemRowsByUserId(savedUser.getId());
+
+        // Then
+        assertEquals(1, rows.size());
+        assertEquals(savedCart.getId(), rows.getFirst().cartId());
+        assertNull(rows.getFirst().itemId());
+    }
+
     private User createUser(String email, String username) {
         User user = new User();
         user.setUsername(username);
@@ -1,12 +1,18 @@
 package com.alten.shop.repository;
 
+import com.alten.shop.dto.response.ProductResponse;
 import com.alten.shop.entity.Product;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -92,6 +98,151 @@ class ProductRepositoryTest {
         assertEquals("Unique Product", found.get().getName());
     }
 
+    @Test
+    void shouldWalkAllPagesWithKeyset_WhenSortValuesRepeat() {
+        // Given
+        productRepository.save(createProduct("K1", "Alpha", "Keyset", 10.0));
+        productRepository.save(createProduct("K2", "Bravo", "Keyset", 10.0));
+        productRepository.save(createProduct("K3", "Charlie", "Keyset", 5.0));
+        productRepository.save(createProduct("K4", "Delta", "Keyset", 10.0));
+        productRepository.save(createProduct("K5", "Echo", "Other", 1.0));
+        Specification<Product> keysetCategory = (root, query, cb) -> cb.equal(root.get("category"), "Keyset");
+
+        // When
+        List<Product> first = productRepository.findAllAfter(keysetCategory, ProductSortField.PRICE, null, 2);
+        List<Product> second = productRepository.findAllAfter(keysetCategory, ProductSortField.PRICE,
+                ProductCursor.of(ProductSortField.PRICE, first.getLast()), 2);
+        List<Product> third = productRepository.findAllAfter(keysetCategory, ProductSortField.PRICE,
+                ProductCursor.of(ProductSortField.PRICE, second.getLast()), 2);
+
+        // Then
+        assertEquals(List.of("Charlie", "Alpha"), first.stream().map(Product::getName).toList());
+        assertEquals(List.of("Bravo", "Delta"), second.stream().map(Product::getName).toList());
+        assertTrue(third.isEmpty());
+    }
+
+    @Test
+    void shouldPlaceNullsLast_WhenKeysetSortsByNullableField() {
+        // Given
+        Product unrated = createProduct("N1", "Unrated", "Nullable", 1.0);
+        unrated.setRating(null);
+        productRepository.save(unrated);
+        Product rated = createProduct("N2", "Rated", "Nullable", 1.0);
+        productRepository.save(rated);
+        Specification<Product> nullableCategory = (root, query, cb) -> cb.equal(root.get("category"), "Nullable");
+
+        // When
+        List<Product> first = productRepository.findAllAfter(nullableCategory, ProductSortField.RATING, null, 1);
+        List<Product> second = productRepository.findAllAfter(nullableCategory, ProductSortField.RATING,
+                ProductCursor.of(ProductSortField.RATING, first.getLast()), 1);
+        List<Product> third = productRepository.findAllAfter(nullableCategory, ProductSortField.RATING,
+                ProductCursor.of(ProductSortField.RATING, second.getLast()), 1);
+
+        // Then
+        assertEquals("Rated", first.getFirst().getName());
+        assertEquals("Unrated", second.getFirst().getName());
+        assertTrue(third.isEmpty());
+    }
+
+    @Test
+    void shouldContinueIntoNullTail_WhenKeysetPageCrossesIt() {
+        // Given
+        for (String name : List.of("Unrated A", "Unrated B")) {
+            Product unrated = createProduct("T-" + name, name, "NullTail", 1.0);
+            unrated.setRating(null);
+            productRepository.save(unrated);
+        }
+        Product low = createProduct("T-Low", "Low", "NullTail", 1.0);
+        low.setRating(2);
+        productRepository.save(low);
+        Product high = createProduct("T-High", "High", "NullTail", 1.0);
+        high.setRating(4);
+        productRepository.save(high);
+        Specification<Product> nullTailCategory = (root, query, cb) -> cb.equal(root.get("category"), "NullTail");
+
+        // When
+        List<Product> first = productRepository.findAllAfter(nullTailCategory, ProductSortField.RATING, null, 3);
+        List<Product> second = productRepository.findAllAfter(nullTailCategory, ProductSortField.RATING,
+                ProductCursor.of(ProductSortField.RATING, first.getLast()), 3);
+
+        // Then
+        assertEquals(List.of("Low", "High", "Unrated A"), first.stream().map(Product::getName).toList());
+        assertEquals(List.of("Unrated B"), second.stream().map(Product::getName).toList());
+    }
+
+    @Test
+    void shouldProjectListViewsWithoutDescriptionAndDetailWithIt() {
+        // Given
+        Product saved = productRepository.save(createProduct("P1", "Projected", "Projection", 15.0));
+        productRepository.save(createProduct("P2", "Another", "Projection", 25.0));
+        Specification<Product> projectionCategory = (root, query, cb) -> cb.equal(root.get("category"), "Projection");
+
+        // When
+        Page<ProductResponse> page = productRepository.findSummaries(projectionCategory,
+                PageRequest.of(0, 1, Sort.by("price")));
+        Optional<ProductResponse> detail = productRepository.findResponseById(saved.getId());
+
+        // Then
+        assertEquals(2, page.getTotalElements());
+        assertEquals("Projected", page.getContent().getFirst().name());
+        assertNull(page.getContent().getFirst().description());
+        assertEquals("Description for Projected", detail.orElseThrow().description());
+    }
+
+    @Test
+    void shouldGroupFacetRowsInOneQuery() {
+        // Given
+        productRepository.save(createProduct("F1", "Mouse", "Facets", 20.0));
+        productRepository.save(createProduct("F2", "Keyboard", "Facets", 45.0));
+        productRepository.save(createProduct("F3", "Monitor", "Facets", 180.0));
+        productRepository.save(createProduct("F4", "Sofa", "Furniture", 400.0));
+        Specification<Product> facetsCategory = (root, query, cb) -> cb.equal(root.get("category"), "Facets");
+
+        // When
+        List<ProductFacetRow> rows = productRepository.findFacetRows(facetsCategory, 50);
+
+        // Then
+        assertEquals(2, rows.size());
+        ProductFacetRow firstBucket = rows.stream().filter(row -> row.priceBucket() == 0).findFirst().orElseThrow();
+        assertEquals(2, firstBucket.count());
+        assertEquals(Product.InventoryStatus.INSTOCK, firstBucket.inventoryStatus());
+        assertEquals(4, firstBucket.rating());
+        assertTrue(rows.stream().anyMatch(row -> row.priceBucket() == 3 && row.count() == 1));
+    }
+
+    @Test
+    void shouldStreamFilteredProductsInIdOrderWithDescription() {
+        // Given
+        Product first = productRepository.save(createProduct("S1", "Streamed", "Export", 15.0));
+        Product second = productRepository.save(createProduct("S2", "Also streamed", "Export", 25.0));
+        productRepository.save(createProduct("S3", "Skipped", "Other", 35.0));
+        Specification<Product> exportCategory = (root, query, cb) -> cb.equal(root.get("category"), "Export");
+
+        // When
+        List<ProductResponse> streamed;
+        try (Stream<ProductResponse> products = productRepository.streamAll(exportCategory, 1)) {
+            streamed = products.toList();
+        }
+
+        // Then
+        assertEquals(List.of(first.getId(), second.getId()), streamed.stream().map(ProductResponse::id).toList());
+        assertEquals("Description for Streamed", streamed.getFirst().description());
+    }
+
+    @Test
+    void shouldFindResponsesForManyIdsInOneQuery() {
+        // Given
+        Product first = productRepository.save(createProduct("B1", "Batch one", "Batch", 10.0));
+        Product second = productRepository.save(createProduct("B2", "Batch two", "Batch", 20.0));
+
+        // When
+        List<ProductResponse> found = productRepository.findResponsesByIdIn(List.of(second.getId(), first.getId(), -1L));
+
+        // Then
+        assertEquals(2, found.size());
+        assertTrue(found.stream().allMatch(product -> product.description() != null));
+    }
+
     private Product createProduct(String code, String name, String category, Double price) {
         Product product = new Product();
         product.setCode(code);
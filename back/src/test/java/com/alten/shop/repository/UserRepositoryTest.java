@@ -99,4 +99,20 @@ class UserRepositoryTest {
         assertTrue(userRepository.existsByUsername("existinguser"));
         assertFalse(userRepository.existsByUsername("nonexistentuser"));
     }
+
+    @Test
+    void shouldFindByEmailOrUsername() {
+        // Given
+        User user = new User();
+        user.setUsername("combineduser");
+        user.setFirstname("Test");
+        user.setEmail("combined@test.com");
+        user.setPassword("password123");
+        userRepository.save(user);
+
+        // When & Then
+        assertEquals(1, userRepository.findByEmailOrUsername("combined@test.com", "other").size());
+        assertEquals(1, userRepository.findByEmailOrUsername("other@test.com", "combineduser").size());
+        assertTrue(userRepository.findByEmailOrUsername("other@test.com", "other").isEmpty());
+    }
 }
\ No newline at end of file
@@ -1,20 +1,29 @@
 package com.alten.shop.service;
 
 import com.alten.shop.config.JwtUtils;
+import com.alten.shop.config.UserPrincipal;
+import com.alten.shop.config.VerifiedToken;
 import com.alten.shop.dto.request.AuthRequest;
+import com.alten.shop.dto.request.LoginRequest;
+import com.alten.shop.dto.request.RefreshRequest;
 import com.alten.shop.dto.response.AuthResponse;
 import com.alten.shop.entity.User;
 import com.alten.shop.repository.UserRepository;
+import io.jsonwebtoken.MalformedJwtException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.authentication.BadCredentialsException;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertNotNull;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -22,13 +31,22 @@ import static org.mockito.Mockito.*;
 class AuthServiceTest {
 
     @Mock
-    private AuthenticationManager authenticationManager;
+    private UserRepository userRepository;
 
     @Mock
-    private UserRepository userRepository;
+    private PasswordHashingService passwordHashingService;
+
+    @Mock
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Mock
+    private RegistrationIndex registrationIndex;
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
 
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private TokenRevocationService tokenRevocationService;
 
     @Mock
     private JwtUtils jwtUtils;
@@ -36,16 +54,25 @@ class AuthServiceTest {
     @InjectMocks
     private AuthService authService;
 
+    private User createTestUser() {
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("testuser");
+        user.setFirstname("Test");
+        user.setEmail("test@test.com");
+        user.setPassword("storedHash");
+        return user;
+    }
+
     @Test
     void shouldRegisterUser() {
         // Given
         AuthRequest request = new AuthRequest("testuser", "Test", "test@test.com", "password");
 
-        when(userRepository.existsByEmail(anyString())).thenReturn(false);
-        when(userRepository.existsByUsername(anyString())).thenReturn(false);
-        when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
+        when(registrationIndex.mightBeTaken("test@test.com", "testuser")).thenReturn(false);
+        when(passwordHashingService.encode(anyString())).thenReturn("encodedPassword");
         when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
-        when(jwtUtils.generateToken(any(User.class))).thenReturn("jwtToken");
+        when(jwtUtils.generateToken(any(UserPrincipal.class))).thenReturn("jwtToken");
 
         // When
         AuthResponse response = authService.register(request);
@@ -54,5 +81,165 @@ class AuthServiceTest {
         assertNotNull(response);
         assertEquals("jwtToken", response.token());
         verify(userRepository).save(any(User.class));
+        verify(userRepository, never()).findByEmailOrUsername(anyString(), anyString());
+        verify(registrationIndex).add("test@test.com", "testuser");
+    }
+
+    @Test
+    void shouldRegisterUser_WhenIndexReportsFalsePositive() {
+        // Given
+        AuthRequest request = new AuthRequest("testuser", "Test", "test@test.com", "password");
+
+        when(registrationIndex.mightBeTaken("test@test.com", "testuser")).thenReturn(true);
+        when(userRepository.findByEmailOrUsername("test@test.com", "testuser")).thenReturn(List.of());
+        when(passwordHashingService.encode(anyString())).thenReturn("encodedPassword");
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(jwtUtils.generateToken(any(UserPrincipal.class))).thenReturn("jwtToken");
+
+        // When
+        AuthResponse response = authService.register(request);
+
+        // Then
+        assertEquals("jwtToken", response.token());
+        verify(userRepository).findByEmailOrUsername("test@test.com", "testuser");
+    }
+
+    @Test
+    void shouldRejectRegistration_WhenEmailIsTaken() {
+        // Given
+        AuthRequest request = new AuthRequest("newuser", "Test", "test@test.com", "password");
+
+        when(registrationIndex.mightBeTaken("test@test.com", "newuser")).thenReturn(true);
+        when(userRepository.findByEmailOrUsername("test@test.com", "newuser")).thenReturn(List.of(createTestUser()));
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> authService.register(request));
+        assertEquals("Error: Email is already in use!", exception.getMessage());
+        verify(passwordHashingService, never()).encode(anyString());
+        verify(userRepository, never()).save(any(User.class));
+    }
+
+    @Test
+    void shouldRejectRegistration_WhenUniqueConstraintIsViolated() {
+        // Given
+        AuthRequest request = new AuthRequest("testuser", "Test", "test@test.com", "password");
+
+        when(registrationIndex.mightBeTaken("test@test.com", "testuser")).thenReturn(false);
+        when(passwordHashingService.encode(anyString())).thenReturn("encodedPassword");
+        when(userRepository.save(any(User.class))).thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        // When & Then
+        assertThrows(RuntimeException.class, () -> authService.register(request));
+        verify(registrationIndex, never()).add(anyString(), anyString());
+    }
+
+    @Test
+    void shouldLoginUser() {
+        // Given
+        User user = createTestUser();
+        when(userRepository.findByEmail("test@test.com")).thenReturn(Optional.of(user));
+        when(passwordHashingService.matches("password", "storedHash")).thenReturn(true);
+        when(passwordHashingService.upgradeEncoding("storedHash")).thenReturn(false);
+        when(jwtUtils.generateToken(any(UserPrincipal.class))).thenReturn("jwtToken");
+
+        when(refreshTokenService.issue(any(UserPrincipal.class))).thenReturn("refreshToken");
+
+        // When
+        AuthResponse response = authService.login(new LoginRequest("test@test.com", "password"));
+
+        // Then
+        assertEquals("jwtToken", response.token());
+        assertEquals("refreshToken", response.refreshToken());
+        assertEquals("test@test.com", response.user().email());
+        verify(userRepository, never()).save(any(User.class));
+    }
+
+    @Test
+    void shouldRehashWeakPassword_OnSuccessfulLogin() {
+        // Given
+        User user = createTestUser();
+        when(userRepository.findByEmail("test@test.com")).thenReturn(Optional.of(user));
+        when(passwordHashingService.matches("password", "storedHash")).thenReturn(true);
+        when(passwordHashingService.upgradeEncoding("storedHash")).thenReturn(true);
+        when(passwordHashingService.encode("password")).thenReturn("strongerHash");
+        when(userRepository.save(user)).thenReturn(user);
+        when(jwtUtils.generateToken(any(UserPrincipal.class))).thenReturn("jwtToken");
+
+        // When
+        authService.login(new LoginRequest("test@test.com", "password"));
+
+        // Then
+        assertEquals("strongerHash", user.getPassword());
+        verify(userRepository).save(user);
+        verify(userDetailsService).evictUser("test@test.com");
+    }
+
+    @Test
+    void shouldRejectWrongPassword() {
+        // Given
+        User user = createTestUser();
+        when(userRepository.findByEmail("test@test.com")).thenReturn(Optional.of(user));
+        when(passwordHashingService.matches("wrong", "storedHash")).thenReturn(false);
+
+        // When & Then
+        assertThrows(BadCredentialsException.class,
+                () -> authService.login(new LoginRequest("test@test.com", "wrong")));
+        verify(jwtUtils, never()).generateToken(any());
+    }
+
+    @Test
+    void shouldRejectUnknownUser() {
+        // Given
+        when(userRepository.findByEmail("unknown@test.com")).thenReturn(Optional.empty());
+        when(passwordHashingService.matches("password", null)).thenReturn(false);
+
+        // When & Then
+        assertThrows(BadCredentialsException.class,
+                () -> authService.login(new LoginRequest("unknown@test.com", "password")));
+    }
+
+    @Test
+    void shouldRefreshWithoutTouchingPasswords() {
+        // Given
+        UserPrincipal principal = new UserPrincipal(1L, "test@test.com", "testuser", "Test", null);
+        when(refreshTokenService.rotate("oldRefresh"))
+                .thenReturn(new RefreshTokenService.RotatedToken(principal, "newRefresh"));
+        when(jwtUtils.generateToken(principal)).thenReturn("jwtToken");
+
+        // When
+        AuthResponse response = authService.refresh(new RefreshRequest("oldRefresh"));
+
+        // Then
+        assertEquals("jwtToken", response.token());
+        assertEquals("newRefresh", response.refreshToken());
+        assertEquals(1L, response.user().id());
+        verifyNoInteractions(passwordHashingService, userRepository);
+    }
+
+    @Test
+    void shouldRevokeAccessAndRefreshToken_OnLogout() {
+        // Given
+        VerifiedToken verified = new VerifiedToken("test@test.com", Instant.now(), Instant.now().plusSeconds(60), Map.of("jti", "token-id"));
+        when(jwtUtils.verify("access-token")).thenReturn(verified);
+
+        // When
+        authService.logout("access-token", "refresh-token");
+
+        // Then
+        verify(tokenRevocationService).revoke(verified);
+        verify(jwtUtils).evictVerified("access-token");
+        verify(refreshTokenService).revoke("refresh-token");
+    }
+
+    @Test
+    void shouldIgnoreInvalidAccessToken_OnLogout() {
+        // Given
+        when(jwtUtils.verify("garbage")).thenThrow(new MalformedJwtException("bad"));
+
+        // When
+        authService.logout("garbage", null);
+
+        // Then
+        verifyNoInteractions(tokenRevocationService, refreshTokenService);
     }
 }
\ No newline at end of file
@@ -1,9 +1,11 @@
 package com.alten.shop.service;
 
 import com.alten.shop.dto.response.CartResponse;
+import com.alten.shop.dto.response.ProductResponse;
 import com.alten.shop.entity.Cart;
 import com.alten.shop.entity.Product;
 import com.alten.shop.entity.User;
+import com.alten.shop.repository.CartItemRow;
 import com.alten.shop.repository.CartRepository;
 import com.alten.shop.repository.ProductRepository;
 import com.alten.shop.repository.UserRepository;
@@ -13,10 +15,16 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -32,6 +40,9 @@ class CartServiceTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private ProductCache productCache;
+
     @InjectMocks
     private CartService cartService;
 
@@ -63,4 +74,49 @@ class CartServiceTest {
         assertNotNull(result);
         verify(cartRepository).save(any(Cart.class));
     }
+
+    @Test
+    void shouldGetCartFromProjection_WithoutLoadingEntities() {
+        // Given
+        Long userId = 1L;
+        LocalDateTime now = LocalDateTime.now();
+        when(cartRepository.findItemRowsByUserId(userId)).thenReturn(List.of(
+                new CartItemRow(10L, now, 100L, 2, 1L),
+                new CartItemRow(10L, now, 101L, 1, 2L)));
+        // Product 2 was deleted after the rows were read
+        when(productCache.getAll(List.of(1L, 2L))).thenReturn(Map.of(1L, new ProductResponse(
+                1L, "CODE1", "Test Product", null, null, "Electronics", 9.99, 5, null, null,
+                Product.InventoryStatus.INSTOCK, 4, now, now)));
+
+        // When
+        CartResponse result = cartService.getCartByUserId(userId);
+
+        // Then
+        assertEquals(10L, result.id());
+        assertEquals(1, result.items().size());
+        assertEquals(2, result.items().get(0).quantity());
+        assertEquals("Test Product", result.items().get(0).product().name());
+        verify(cartRepository, never()).findByUserId(any());
+        verify(cartRepository, never()).save(any(Cart.class));
+    }
+
+    @Test
+    void shouldCreateCart_WhenUserHasNone() {
+        // Given
+        Long userId = 1L;
+        User user = new User();
+        user.setId(userId);
+        Cart cart = new Cart();
+        cart.setUser(user);
+        when(cartRepository.findItemRowsByUserId(userId)).thenReturn(List.of());
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(cartRepository.save(any(Cart.class))).thenReturn(cart);
+
+        // When
+        CartResponse result = cartService.getCartByUserId(userId);
+
+        // Then
+        assertTrue(result.items().isEmpty());
+        verify(cartRepository).save(any(Cart.class));
+    }
 }
\ No newline at end of file
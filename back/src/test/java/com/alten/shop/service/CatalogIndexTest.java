@@ -0,0 +1,294 @@
+package com.alten.shop.service;
+
+import com.alten.shop.dto.response.ProductResponse;
+import com.alten.shop.entity.Product;
+import com.alten.shop.event.ProductChangedEvent;
+import com.alten.shop.repository.ProductRepository;
+import com.alten.shop.repository.ProductSortField;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogIndexTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private final Map<Long, ProductResponse> stored = new HashMap<>();
+
+    private CatalogIndex catalogIndex;
+
+    @BeforeEach
+    void seed() {
+        catalogIndex = new CatalogIndex(productRepository, new StoredProducts(), true);
+        index(
+                product(1L, "Phone", "Electronics", 500.0, 4),
+                product(2L, "Cable", "Electronics", 10.0, null),
+                product(3L, "Laptop", "Electronics", 1200.0, 5),
+                product(4L, "Shirt", "Clothing", 25.0, 3),
+                product(5L, "Jacket", "Clothing", 90.0, 4),
+                product(6L, "Novel", "Books", 15.0, null));
+    }
+
+    private void index(ProductResponse... products) {
+        for (ProductResponse product : products) {
+            stored.put(product.id(), product);
+        }
+        catalogIndex.replaceAll(List.of(products));
+    }
+
+    // Page rows are read back through the product cache; this one answers from the seeded products
+    private class StoredProducts extends ProductCache {
+        StoredProducts() {
+            super(productRepository, new SimpleMeterRegistry(), false, 0, Duration.ZERO);
+        }
+
+        @Override
+        public Map<Long, ProductResponse> getAll(Collection<Long> ids) {
+            Map<Long, ProductResponse> found = new HashMap<>();
+            ids.stream().filter(stored::containsKey).forEach(id -> found.put(id, stored.get(id)));
+            return found;
+        }
+    }
+
+    private static ProductResponse product(Long id, String name, String category, Double price, Integer rating) {
+        return new ProductResponse(id, "CODE" + id, name, "Description", "image.jpg", category, price, 10,
+                "REF-" + id, 1L, Product.InventoryStatus.INSTOCK, rating,
+                LocalDateTime.of(2024, 1, 1, 0, 0).plusDays(id), LocalDateTime.now());
+    }
+
+    private static List<Long> ids(Page<ProductResponse> page) {
+        return page.getContent().stream().map(ProductResponse::id).toList();
+    }
+
+    @Test
+    void shouldFilterCategoryByPriceRangeSortedByPrice() {
+        // When
+        Page<ProductResponse> page = catalogIndex.query(Optional.of("Electronics"), Optional.of(10.0), Optional.of(600.0),
+                PageRequest.of(0, 10, Sort.by("price"))).orElseThrow();
+
+        // Then
+        assertEquals(List.of(2L, 1L), ids(page));
+        assertEquals(2, page.getTotalElements());
+    }
+
+    @Test
+    void shouldMergeCategoriesInSortOrderAcrossPages() {
+        // When
+        Page<ProductResponse> first = catalogIndex.query(Optional.empty(), Optional.empty(), Optional.empty(),
+                PageRequest.of(0, 4, Sort.by("name"))).orElseThrow();
+        Page<ProductResponse> second = catalogIndex.query(Optional.empty(), Optional.empty(), Optional.empty(),
+                PageRequest.of(1, 4, Sort.by("name"))).orElseThrow();
+
+        // Then
+        assertEquals(List.of(2L, 5L, 3L, 6L), ids(first));
+        assertEquals(List.of(1L, 4L), ids(second));
+        assertEquals(6, first.getTotalElements());
+        assertEquals(2, first.getTotalPages());
+    }
+
+    @Test
+    void shouldSortMissingRatingsLastAndApplyPriceFilterWhileScanning() {
+        // When
+        Page<ProductResponse> page = catalogIndex.query(Optional.empty(), Optional.empty(), Optional.of(100.0),
+                PageRequest.of(0, 10, Sort.by("rating"))).orElseThrow();
+
+        // Then
+        assertEquals(List.of(4L, 5L, 2L, 6L), ids(page));
+        assertEquals(4, page.getTotalElements());
+    }
+
+    @Test
+    void shouldReturnPageRowsInListShape() {
+        // When
+        Page<ProductResponse> page = catalogIndex.query(Optional.of("Books"), Optional.empty(), Optional.empty(),
+                PageRequest.of(0, 10)).orElseThrow();
+
+        // Then
+        assertEquals("Novel", page.getContent().getFirst().name());
+        assertNull(page.getContent().getFirst().description());
+    }
+
+    @Test
+    void shouldLeaveOutProductsDeletedSinceTheSnapshot() {
+        // Given
+        stored.remove(2L);
+
+        // When
+        Page<ProductResponse> page = catalogIndex.query(Optional.of("Electronics"), Optional.empty(), Optional.empty(),
+                PageRequest.of(0, 10)).orElseThrow();
+
+        // Then
+        assertEquals(List.of(1L, 3L), ids(page));
+    }
+
+    @Test
+    void shouldDefaultToIdOrderWhenUnsorted() {
+        // When
+        Page<ProductResponse> page = catalogIndex.query(Optional.empty(), Optional.empty(), Optional.empty(),
+                PageRequest.of(0, 3)).orElseThrow();
+
+        // Then
+        assertEquals(List.of(1L, 2L, 3L), ids(page));
+    }
+
+    @Test
+    void shouldDeclineQueriesItCannotAnswer() {
+        assertTrue(catalogIndex.query(Optional.empty(), Optional.empty(), Optional.empty(),
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "price"))).isEmpty());
+        assertTrue(catalogIndex.query(Optional.empty(), Optional.empty(), Optional.empty(),
+                PageRequest.of(0, 10, Sort.by("price", "name"))).isEmpty());
+        assertTrue(catalogIndex.query(Optional.empty(), Optional.empty(), Optional.empty(),
+                PageRequest.of(0, 10, Sort.by("description"))).isEmpty());
+    }
+
+    @Test
+    void shouldReflectWritesInLaterQueries() {
+        // Given
+        catalogIndex.query(Optional.of("Clothing"), Optional.empty(), Optional.empty(), PageRequest.of(0, 10));
+
+        // When
+        stored.put(4L, product(4L, "Shirt", "Books", 25.0, 3));
+        catalogIndex.put(stored.get(4L));
+        catalogIndex.remove(5L);
+
+        // Then
+        assertEquals(0, catalogIndex.query(Optional.of("Clothing"), Optional.empty(), Optional.empty(),
+                PageRequest.of(0, 10)).orElseThrow().getTotalElements());
+        assertEquals(List.of(4L, 6L), ids(catalogIndex.query(Optional.of("Books"), Optional.empty(), Optional.empty(),
+                PageRequest.of(0, 10)).orElseThrow()));
+    }
+
+    @Test
+    void shouldDropProductsDeletedAfterCommit() {
+        // When
+        catalogIndex.onProductChanged(ProductChangedEvent.deleted(6L, "Books"));
+
+        // Then
+        assertEquals(5, catalogIndex.query(Optional.empty(), Optional.empty(), Optional.empty(),
+                PageRequest.of(0, 10)).orElseThrow().getTotalElements());
+    }
+
+    @Test
+    void shouldRefreshUpdatedProductsFromRepository() {
+        // Given
+        ProductResponse updated = product(2L, "Cable", "Electronics", 2000.0, null);
+        stored.put(2L, updated);
+        when(productRepository.findResponseById(2L)).thenReturn(Optional.of(updated));
+
+        // When
+        catalogIndex.onProductChanged(ProductChangedEvent.updated(2L, "Electronics", "Electronics"));
+
+        // Then
+        Page<ProductResponse> page = catalogIndex.query(Optional.of("Electronics"), Optional.empty(), Optional.empty(),
+                PageRequest.of(0, 10, Sort.by("price"))).orElseThrow();
+        assertEquals(List.of(1L, 3L, 2L), ids(page));
+    }
+
+    @Test
+    void shouldStayUnavailableWhenDisabled() {
+        assertFalse(new CatalogIndex(productRepository, new StoredProducts(), false).isAvailable());
+        assertTrue(catalogIndex.isAvailable());
+    }
+
+    @Test
+    void shouldKeepServingPageTakenBeforeWrite() {
+        // Given
+        Page<ProductResponse> before = catalogIndex.query(Optional.of("Clothing"), Optional.empty(), Optional.empty(),
+                PageRequest.of(0, 10, Sort.by("price"))).orElseThrow();
+
+        // When
+        stored.put(7L, product(7L, "Scarf", "Clothing", 5.0, 2));
+        catalogIndex.put(stored.get(7L));
+
+        // Then
+        assertEquals(List.of(4L, 5L), ids(before));
+        assertEquals(List.of(7L, 4L, 5L), ids(catalogIndex.query(Optional.of("Clothing"), Optional.empty(),
+                Optional.empty(), PageRequest.of(0, 10, Sort.by("price"))).orElseThrow()));
+    }
+
+    @Test
+    void shouldApplyEventsReceivedWhileReloading() {
+        // Given
+        Product phone = new Product();
+        phone.setId(1L);
+        phone.setName("Phone");
+        phone.setCategory("Electronics");
+        phone.setPrice(500.0);
+        Product cable = new Product();
+        cable.setId(2L);
+        cable.setName("Cable");
+        cable.setCategory("Electronics");
+        cable.setPrice(10.0);
+        when(productRepository.findAllAfter(any(), eq(ProductSortField.ID), any(), anyInt())).thenAnswer(invocation -> {
+            // Cable is deleted after the batch was read but before the reload swaps it in
+            catalogIndex.onProductChanged(ProductChangedEvent.deleted(2L, "Electronics"));
+            return List.of(phone, cable);
+        });
+        when(productRepository.findResponseById(2L)).thenReturn(Optional.empty());
+
+        // When
+        catalogIndex.load();
+
+        // Then
+        assertEquals(List.of(1L), ids(catalogIndex.query(Optional.empty(), Optional.empty(), Optional.empty(),
+                PageRequest.of(0, 10)).orElseThrow()));
+    }
+
+    @Test
+    void shouldStepAsideAndRebuildInBackground_AfterBulkWrite() {
+        // Given
+        List<Runnable> rebuilds = new ArrayList<>();
+        CatalogIndex deferred = new CatalogIndex(productRepository, new StoredProducts(), true, rebuilds::add);
+        deferred.replaceAll(List.of(product(1L, "Phone", "Electronics", 500.0, 4)));
+        Product imported = new Product();
+        imported.setId(8L);
+        imported.setName("Tablet");
+        imported.setCategory("Electronics");
+        imported.setPrice(300.0);
+
+        // When
+        deferred.onProductChanged(ProductChangedEvent.bulk());
+
+        // Then
+        assertFalse(deferred.isAvailable());
+        verifyNoInteractions(productRepository);
+
+        // When
+        when(productRepository.findAllAfter(any(), eq(ProductSortField.ID), any(), anyInt()))
+                .thenReturn(List.of(imported));
+        stored.put(8L, ProductResponse.fromEntity(imported));
+        rebuilds.forEach(Runnable::run);
+
+        // Then
+        assertTrue(deferred.isAvailable());
+        assertEquals(List.of(8L), ids(deferred.query(Optional.empty(), Optional.empty(), Optional.empty(),
+                PageRequest.of(0, 10)).orElseThrow()));
+    }
+}
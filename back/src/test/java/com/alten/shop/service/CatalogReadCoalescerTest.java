@@ -0,0 +1,87 @@
+package com.alten.shop.service;
+
+import com.alten.shop.event.ProductChangedEvent;
+import com.alten.shop.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CatalogReadCoalescerTest {
+
+    private record Key(long id) {
+    }
+
+    @Test
+    void shouldAnswerBusyWhenTheSharedLoadOutlastsMaxWait() throws Exception {
+        // Given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CatalogReadCoalescer coalescer = new CatalogReadCoalescer(registry, true, Duration.ofMillis(20));
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            executor.submit(() -> coalescer.execute(new Key(1), () -> {
+                loading.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "slow";
+            }));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+            // When & Then
+            assertThrows(ServiceUnavailableException.class, () -> coalescer.execute(new Key(1), () -> "fast"));
+            assertEquals(1.0, registry.get("catalog.reads.coalesced").functionCounter().count());
+            assertEquals(1.0, registry.get("catalog.reads.coalesce_timeouts").counter().count());
+            // A different key is not held up by the slow one
+            assertEquals("other", coalescer.execute(new Key(2), () -> "other"));
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldStartFreshLoadAfterProductWrite() throws Exception {
+        // Given
+        CatalogReadCoalescer coalescer = new CatalogReadCoalescer(new SimpleMeterRegistry(), true,
+                Duration.ofSeconds(5));
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            executor.submit(() -> coalescer.execute(new Key(1), () -> {
+                loading.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "before write";
+            }));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+            // When
+            coalescer.onProductChanged(ProductChangedEvent.updated(1L, "Electronics", "Electronics"));
+
+            // Then
+            assertEquals("after write", coalescer.execute(new Key(1), () -> "after write"));
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.alten.shop.service;
+
+import com.alten.shop.event.ProductChangedEvent;
+import com.alten.shop.repository.CatalogStamp;
+import com.alten.shop.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogVersionTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @InjectMocks
+    private CatalogVersion catalogVersion;
+
+    private static CatalogStamp stamp(long count, LocalDateTime lastUpdated) {
+        return new CatalogStamp() {
+            public Long getCount() {
+                return count;
+            }
+
+            public LocalDateTime getLastUpdated() {
+                return lastUpdated;
+            }
+        };
+    }
+
+    @Test
+    void shouldChangeEtagOnCommittedProductWrites() {
+        // Given
+        LocalDateTime updated = LocalDateTime.of(2026, 1, 1, 12, 0);
+        when(productRepository.findCatalogStamp()).thenReturn(stamp(10, updated), stamp(11, updated.plusSeconds(1)));
+        String before = catalogVersion.validators().etag();
+
+        // When
+        catalogVersion.onProductChanged(ProductChangedEvent.created(1L, "Electronics"));
+
+        // Then
+        assertNotEquals(before, catalogVersion.validators().etag());
+        assertEquals(1, catalogVersion.version());
+    }
+
+    @Test
+    void shouldBumpOnlyWhenTheDatabaseStampMoves() {
+        // Given
+        LocalDateTime updated = LocalDateTime.of(2026, 1, 1, 12, 0);
+        when(productRepository.findCatalogStamp()).thenReturn(
+                stamp(10, updated), stamp(10, updated), stamp(10, updated.plusSeconds(5)));
+
+        // When
+        catalogVersion.checkForExternalWrites();
+        catalogVersion.checkForExternalWrites();
+        long unchanged = catalogVersion.version();
+        catalogVersion.checkForExternalWrites();
+
+        // Then
+        assertEquals(0, unchanged);
+        assertEquals(1, catalogVersion.version());
+    }
+
+    @Test
+    void shouldHandOutSameEtagOnEveryNode() {
+        // Given
+        LocalDateTime updated = LocalDateTime.of(2026, 1, 1, 12, 0);
+        when(productRepository.findCatalogStamp()).thenReturn(stamp(10, updated));
+        CatalogVersion otherNode = new CatalogVersion(productRepository);
+
+        // When
+        otherNode.onProductChanged(ProductChangedEvent.created(1L, "Electronics"));
+        String etag = catalogVersion.validators().etag();
+
+        // Then
+        assertEquals(otherNode.validators().etag(), etag);
+    }
+}
@@ -0,0 +1,104 @@
+package com.alten.shop.service;
+
+import com.alten.shop.config.JwtUtils;
+import com.alten.shop.config.UserPrincipal;
+import com.alten.shop.dto.request.RefreshRequest;
+import com.alten.shop.dto.response.AuthResponse;
+import com.alten.shop.entity.User;
+import com.alten.shop.repository.RefreshTokenRepository;
+import com.alten.shop.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Not wrapped in a test transaction: each store call has to commit (or roll back) the way it does in production
+@DataJpaTest
+@Import({JpaRefreshTokenStore.class, RefreshTokenService.class, AuthService.class})
+@TestPropertySource(properties = "app.jwt.refresh.store=jpa")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class JpaRefreshTokenStoreTest {
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @MockitoBean
+    private PasswordHashingService passwordHashingService;
+
+    @MockitoBean
+    private UserDetailsServiceImpl userDetailsService;
+
+    @MockitoBean
+    private RegistrationIndex registrationIndex;
+
+    @MockitoBean
+    private TokenRevocationService tokenRevocationService;
+
+    @MockitoBean
+    private JwtUtils jwtUtils;
+
+    private UserPrincipal principal;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setUsername("refreshuser");
+        user.setFirstname("Refresh");
+        user.setEmail("refresh@test.com");
+        user.setPassword("password123");
+        User saved = userRepository.save(user);
+        principal = new UserPrincipal(saved.getId(), saved.getEmail(), saved.getUsername(), saved.getFirstname(), null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        refreshTokenRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void shouldRotateRefreshToken() {
+        // Given
+        String issued = refreshTokenService.issue(principal);
+
+        // When
+        AuthResponse response = authService.refresh(new RefreshRequest(issued));
+
+        // Then
+        assertNotNull(response.refreshToken());
+        assertNotEquals(issued, response.refreshToken());
+        assertEquals(2, refreshTokenRepository.count());
+    }
+
+    @Test
+    void shouldKeepFamilyRevoked_WhenRotatedTokenIsReused() {
+        // Given
+        String stolen = refreshTokenService.issue(principal);
+        String rotated = authService.refresh(new RefreshRequest(stolen)).refreshToken();
+
+        // When
+        assertThrows(BadCredentialsException.class, () -> authService.refresh(new RefreshRequest(stolen)));
+
+        // Then
+        assertEquals(0, refreshTokenRepository.count());
+        assertThrows(BadCredentialsException.class, () -> authService.refresh(new RefreshRequest(rotated)));
+    }
+}
@@ -0,0 +1,104 @@
+package com.alten.shop.service;
+
+import com.alten.shop.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHashingServiceTest {
+
+    private PasswordHashingService service;
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void shouldEncodeAndMatchOnHashingPool() {
+        // Given
+        service = new PasswordHashingService(new BCryptPasswordEncoder(4), new SimpleMeterRegistry(),
+                2, 4, Duration.ofSeconds(5), Duration.ofSeconds(1));
+
+        // When
+        String encoded = service.encode("password");
+
+        // Then
+        assertTrue(service.matches("password", encoded));
+        assertFalse(service.matches("wrong", encoded));
+        assertFalse(service.matches("password", null));
+    }
+
+    @Test
+    void shouldRequestUpgrade_WhenStoredCostIsBelowTarget() {
+        // Given
+        service = new PasswordHashingService(new BCryptPasswordEncoder(6), new SimpleMeterRegistry(),
+                1, 1, Duration.ofSeconds(5), Duration.ofSeconds(1));
+        String weakHash = new BCryptPasswordEncoder(4).encode("password");
+
+        // When & Then
+        assertTrue(service.upgradeEncoding(weakHash));
+        assertFalse(service.upgradeEncoding(service.encode("password")));
+    }
+
+    @Test
+    void shouldRejectWithRetryAfter_WhenQueueIsFull() throws Exception {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch queued = new CountDownLatch(1);
+        PasswordEncoder blockingEncoder = new BCryptPasswordEncoder(4) {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.encode(rawPassword);
+            }
+        };
+        ArrayBlockingQueue<Runnable> workQueue = new ArrayBlockingQueue<>(1) {
+            @Override
+            public boolean offer(Runnable task) {
+                boolean accepted = super.offer(task);
+                if (accepted) {
+                    queued.countDown();
+                }
+                return accepted;
+            }
+        };
+        service = new PasswordHashingService(blockingEncoder, new SimpleMeterRegistry(),
+                1, workQueue, Duration.ofSeconds(5), Duration.ofSeconds(3));
+
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            callers.submit(() -> service.encode("first"));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            callers.submit(() -> service.encode("queued"));
+            assertTrue(queued.await(5, TimeUnit.SECONDS));
+
+            // When & Then
+            ServiceUnavailableException exception = assertThrows(ServiceUnavailableException.class,
+                    () -> service.encode("rejected"));
+            assertEquals(Duration.ofSeconds(3), exception.getRetryAfter());
+        } finally {
+            release.countDown();
+            callers.shutdown();
+        }
+    }
+}
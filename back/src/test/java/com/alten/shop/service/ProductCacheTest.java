@@ -0,0 +1,150 @@
+package com.alten.shop.service;
+
+import com.alten.shop.dto.response.ProductResponse;
+import com.alten.shop.event.ProductChangedEvent;
+import com.alten.shop.repository.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProductCacheTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Test
+    void shouldServeRepeatedReadsFromMemory() {
+        // Given
+        ProductCache productCache = enabledCache();
+        when(productRepository.findResponseById(1L)).thenReturn(Optional.of(product(1L)));
+
+        // When
+        productCache.get(1L);
+        Optional<ProductResponse> second = productCache.get(1L);
+
+        // Then
+        assertEquals(1L, second.orElseThrow().id());
+        verify(productRepository, times(1)).findResponseById(1L);
+    }
+
+    @Test
+    void shouldNotCacheMissingProducts() {
+        // Given
+        ProductCache productCache = enabledCache();
+        when(productRepository.findResponseById(9L)).thenReturn(Optional.empty());
+
+        // When
+        productCache.get(9L);
+        Optional<ProductResponse> second = productCache.get(9L);
+
+        // Then
+        assertTrue(second.isEmpty());
+        verify(productRepository, times(2)).findResponseById(9L);
+    }
+
+    @Test
+    void shouldLoadOnlyMissesInOneQuery() {
+        // Given
+        ProductCache productCache = enabledCache();
+        when(productRepository.findResponseById(1L)).thenReturn(Optional.of(product(1L)));
+        when(productRepository.findResponsesByIdIn(Set.of(2L, 3L))).thenReturn(List.of(product(2L)));
+        productCache.get(1L);
+
+        // When
+        Map<Long, ProductResponse> products = productCache.getAll(List.of(1L, 2L, 3L, 2L));
+
+        // Then
+        assertEquals(Set.of(1L, 2L), products.keySet());
+        verify(productRepository, times(1)).findResponsesByIdIn(Set.of(2L, 3L));
+    }
+
+    @Test
+    void shouldReloadAfterWriteInvalidation() {
+        // Given
+        ProductCache productCache = enabledCache();
+        when(productRepository.findResponseById(1L)).thenReturn(Optional.of(product(1L)));
+        productCache.get(1L);
+
+        // When
+        productCache.onProductChanged(ProductChangedEvent.updated(1L, "Electronics", "Electronics"));
+        productCache.get(1L);
+        productCache.invalidate(1L);
+        productCache.get(1L);
+
+        // Then
+        verify(productRepository, times(3)).findResponseById(1L);
+    }
+
+    @Test
+    void shouldNotKeepBulkLoadedRows_WhenInvalidatedDuringLoad() {
+        // Given
+        ProductCache productCache = enabledCache();
+        when(productRepository.findResponsesByIdIn(Set.of(2L))).thenAnswer(invocation -> {
+            // The product is written and committed while the IN query runs
+            productCache.onProductChanged(ProductChangedEvent.updated(2L, "Electronics", "Electronics"));
+            return List.of(product(2L));
+        });
+
+        // When
+        Map<Long, ProductResponse> first = productCache.getAll(List.of(2L));
+        productCache.getAll(List.of(2L));
+
+        // Then
+        assertEquals(Set.of(2L), first.keySet());
+        verify(productRepository, times(2)).findResponsesByIdIn(Set.of(2L));
+    }
+
+    @Test
+    void shouldKeepBulkLoadedRows_WhenNothingChanged() {
+        // Given
+        ProductCache productCache = enabledCache();
+        when(productRepository.findResponsesByIdIn(Set.of(2L))).thenReturn(List.of(product(2L)));
+
+        // When
+        productCache.getAll(List.of(2L));
+        Optional<ProductResponse> cached = productCache.get(2L);
+
+        // Then
+        assertEquals(2L, cached.orElseThrow().id());
+        verify(productRepository, times(1)).findResponsesByIdIn(Set.of(2L));
+    }
+
+    @Test
+    void shouldReadThroughWhenDisabled() {
+        // Given
+        ProductCache productCache = new ProductCache(productRepository, new SimpleMeterRegistry(), false, 100,
+                Duration.ofMinutes(10));
+        when(productRepository.findResponseById(1L)).thenReturn(Optional.of(product(1L)));
+
+        // When
+        productCache.get(1L);
+        productCache.get(1L);
+
+        // Then
+        verify(productRepository, times(2)).findResponseById(1L);
+    }
+
+    private ProductCache enabledCache() {
+        return new ProductCache(productRepository, new SimpleMeterRegistry(), true, 100, Duration.ofMinutes(10));
+    }
+
+    private static ProductResponse product(Long id) {
+        return new ProductResponse(id, "CODE" + id, "Product " + id, null, null, "Electronics", 10.0, 1, null,
+                null, null, null, null, null);
+    }
+}
@@ -0,0 +1,82 @@
+package com.alten.shop.service;
+
+import com.alten.shop.event.ProductChangedEvent;
+import com.alten.shop.repository.CategoryStatistics;
+import com.alten.shop.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProductCountEstimatorTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @InjectMocks
+    private ProductCountEstimator productCountEstimator;
+
+    @BeforeEach
+    void seed() {
+        when(productRepository.findCategoryStatistics()).thenReturn(List.of(
+                statistics("Electronics", 1000, 0.0, 100.0),
+                statistics("Clothing", 500, 10.0, 10.0)));
+        productCountEstimator.refresh();
+    }
+
+    private static CategoryStatistics statistics(String category, long count, Double minPrice, Double maxPrice) {
+        return new CategoryStatistics() {
+            public String getCategory() {
+                return category;
+            }
+
+            public Long getCount() {
+                return count;
+            }
+
+            public Double getMinPrice() {
+                return minPrice;
+            }
+
+            public Double getMaxPrice() {
+                return maxPrice;
+            }
+        };
+    }
+
+    @Test
+    void shouldEstimateFromCategoryCounts() {
+        assertEquals(1500, productCountEstimator.estimate(Optional.empty(), Optional.empty(), Optional.empty()));
+        assertEquals(1000, productCountEstimator.estimate(Optional.of("Electronics"), Optional.empty(), Optional.empty()));
+        assertEquals(0, productCountEstimator.estimate(Optional.of("Unknown"), Optional.empty(), Optional.empty()));
+    }
+
+    @Test
+    void shouldScaleByPriceRange() {
+        assertEquals(250, productCountEstimator.estimate(Optional.of("Electronics"), Optional.of(25.0), Optional.of(50.0)));
+        assertEquals(500, productCountEstimator.estimate(Optional.of("Clothing"), Optional.of(5.0), Optional.of(20.0)));
+        assertEquals(0, productCountEstimator.estimate(Optional.of("Clothing"), Optional.of(20.0), Optional.empty()));
+    }
+
+    @Test
+    void shouldTrackCommittedChangesBetweenRefreshes() {
+        // When
+        productCountEstimator.onProductChanged(ProductChangedEvent.created(1L, "Electronics"));
+        productCountEstimator.onProductChanged(ProductChangedEvent.updated(2L, "Clothing", "Books"));
+        productCountEstimator.onProductChanged(ProductChangedEvent.deleted(3L, "Clothing"));
+
+        // Then
+        assertEquals(1001, productCountEstimator.estimate(Optional.of("Electronics"), Optional.empty(), Optional.empty()));
+        assertEquals(498, productCountEstimator.estimate(Optional.of("Clothing"), Optional.empty(), Optional.empty()));
+        assertEquals(1, productCountEstimator.estimate(Optional.of("Books"), Optional.empty(), Optional.empty()));
+    }
+}
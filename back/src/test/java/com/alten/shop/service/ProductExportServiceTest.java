@@ -0,0 +1,87 @@
+package com.alten.shop.service;
+
+import com.alten.shop.dto.response.ProductResponse;
+import com.alten.shop.entity.Product;
+import com.alten.shop.repository.ProductRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProductExportServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ProductExportService productExportService;
+
+    @BeforeEach
+    void setUp() {
+        productExportService = new ProductExportService(productRepository, transactionManager,
+                new ObjectMapper(), 500);
+    }
+
+    @Test
+    void shouldWriteOneJsonObjectPerLineAndCloseTheCursor() {
+        // Given
+        AtomicBoolean closed = new AtomicBoolean();
+        when(productRepository.streamAll(any(Specification.class), eq(500)))
+                .thenReturn(Stream.of(product(1L, "P1", "Plain"), product(2L, "P2", "Second"))
+                        .onClose(() -> closed.set(true)));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // When
+        long written = productExportService.export(output, ProductFileFormat.NDJSON,
+                Optional.empty(), Optional.empty(), Optional.empty());
+
+        // Then
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, written);
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{\"id\":1,\"code\":\"P1\""));
+        assertTrue(lines[1].startsWith("{\"id\":2,"));
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void shouldWriteCsvInImportColumnOrder() {
+        // Given
+        when(productRepository.streamAll(any(Specification.class), eq(500)))
+                .thenReturn(Stream.of(product(1L, "P1", "Desk, oak")));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // When
+        productExportService.export(output, ProductFileFormat.CSV,
+                Optional.of("Furniture"), Optional.empty(), Optional.empty());
+
+        // Then
+        assertEquals(String.join(",", ProductFileFormat.CSV_COLUMNS) + "\r\n"
+                        + "P1,\"Desk, oak\",Description,img.jpg,Furniture,99.5,3,REF-P1,1,INSTOCK,4\r\n",
+                output.toString(StandardCharsets.UTF_8));
+    }
+
+    private static ProductResponse product(Long id, String code, String name) {
+        return new ProductResponse(id, code, name, "Description", "img.jpg", "Furniture", 99.5, 3, "REF-" + code,
+                1L, Product.InventoryStatus.INSTOCK, 4, null, null);
+    }
+}
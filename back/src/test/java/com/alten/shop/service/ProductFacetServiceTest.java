@@ -0,0 +1,80 @@
+package com.alten.shop.service;
+
+import com.alten.shop.dto.response.ProductFacetsResponse;
+import com.alten.shop.dto.response.ProductFacetsResponse.FacetCount;
+import com.alten.shop.dto.response.ProductFacetsResponse.PriceBucket;
+import com.alten.shop.entity.Product;
+import com.alten.shop.event.ProductChangedEvent;
+import com.alten.shop.repository.ProductFacetRow;
+import com.alten.shop.repository.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProductFacetServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private ProductFacetService productFacetService;
+
+    @BeforeEach
+    void setUp() {
+        productFacetService = new ProductFacetService(productRepository, new SimpleMeterRegistry(), 50, 100,
+                Duration.ofMinutes(10));
+    }
+
+    @Test
+    void shouldFoldGroupedRowsIntoFacets() {
+        // Given
+        when(productRepository.findFacetRows(any(Specification.class), eq(50.0))).thenReturn(List.of(
+                new ProductFacetRow("Electronics", Product.InventoryStatus.INSTOCK, 5, 1, 3),
+                new ProductFacetRow("Electronics", Product.InventoryStatus.LOWSTOCK, 4, 0, 2),
+                new ProductFacetRow("Clothing", Product.InventoryStatus.INSTOCK, null, 0, 4),
+                new ProductFacetRow("Clothing", Product.InventoryStatus.OUTOFSTOCK, 4, null, 1)));
+
+        // When
+        ProductFacetsResponse facets = productFacetService.getFacets(Optional.empty(), Optional.empty(), Optional.empty());
+
+        // Then
+        assertEquals(10, facets.total());
+        assertEquals(List.of(new FacetCount("Clothing", 5), new FacetCount("Electronics", 5)), facets.categories());
+        assertEquals(List.of(new FacetCount("INSTOCK", 7), new FacetCount("LOWSTOCK", 2),
+                new FacetCount("OUTOFSTOCK", 1)), facets.inventoryStatuses());
+        assertEquals(List.of(new FacetCount("4", 3), new FacetCount("5", 3),
+                new FacetCount(ProductFacetService.UNRATED, 4)), facets.ratings());
+        assertEquals(List.of(new PriceBucket(0, 50, 6), new PriceBucket(50, 100, 3)), facets.prices());
+    }
+
+    @Test
+    void shouldCacheFacetsPerFilterCombinationUntilProductsChange() {
+        // Given
+        when(productRepository.findFacetRows(any(Specification.class), eq(50.0))).thenReturn(List.of());
+
+        // When
+        productFacetService.getFacets(Optional.of("Electronics"), Optional.empty(), Optional.empty());
+        productFacetService.getFacets(Optional.of("Electronics"), Optional.empty(), Optional.empty());
+        productFacetService.getFacets(Optional.of("Clothing"), Optional.empty(), Optional.empty());
+        productFacetService.onProductChanged(ProductChangedEvent.created(1L, "Electronics"));
+        productFacetService.getFacets(Optional.of("Electronics"), Optional.empty(), Optional.empty());
+
+        // Then
+        verify(productRepository, times(3)).findFacetRows(any(Specification.class), eq(50.0));
+    }
+}
@@ -0,0 +1,212 @@
+package com.alten.shop.service;
+
+import com.alten.shop.dto.response.ImportReport;
+import com.alten.shop.event.ProductChangedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProductImportServiceTest {
+
+    private static final String CSV_HEADER =
+            "code,name,description,image,category,price,quantity,internalReference,shellId,inventoryStatus,rating\n";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private ProductImportService productImportService;
+
+    @BeforeEach
+    void setUp() {
+        productImportService = new ProductImportService(jdbcTemplate, transactionManager,
+                Validation.buildDefaultValidatorFactory().getValidator(), new ObjectMapper(), eventPublisher, 2);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldUpsertValidNdjsonRowsInBatchesAndReportInvalidOnes() throws IOException {
+        // Given
+        String body = product("P1", 10.0) + "\n"
+                + "{not json}\n"
+                + "\n"
+                + product("P2", -1.0) + "\n"
+                + product("P3", 30.0) + "\n"
+                + product("P4", 40.0) + "\n";
+
+        // When
+        ImportReport report = productImportService.importProducts(stream(body), ProductFileFormat.NDJSON);
+
+        // Then
+        assertEquals(5, report.rows());
+        assertEquals(3, report.imported());
+        assertEquals(2, report.failed());
+        assertEquals(2, report.errors().get(0).line());
+        assertTrue(report.errors().get(0).message().startsWith("Malformed JSON"));
+        assertEquals(4, report.errors().get(1).line());
+        assertEquals("P2", report.errors().get(1).code());
+        assertTrue(report.errors().get(1).message().contains("price"));
+        assertFalse(report.errorsTruncated());
+
+        ArgumentCaptor<Collection<?>> batches = ArgumentCaptor.forClass(Collection.class);
+        verify(jdbcTemplate, times(3)).batchUpdate(anyString(), batches.capture(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+        assertEquals(List.of(1, 1, 1), batches.getAllValues().stream().map(Collection::size).toList());
+        verify(eventPublisher).publishEvent(any(ProductChangedEvent.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldKeepLastOccurrenceOfDuplicateCodeWithinBatch() throws IOException {
+        // Given
+        String body = CSV_HEADER
+                + "P1,First,Desc,img.jpg,Electronics,10.0,1,REF-1,1,INSTOCK,4\n"
+                + "P1,Second,\"Desc, with comma\",img.jpg,Electronics,12.5,2,REF-1,1,instock,5\n";
+
+        // When
+        ImportReport report = productImportService.importProducts(stream(body), ProductFileFormat.CSV);
+
+        // Then
+        assertEquals(2, report.rows());
+        assertEquals(2, report.imported());
+        assertEquals(0, report.failed());
+        ArgumentCaptor<Collection<?>> batch = ArgumentCaptor.forClass(Collection.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), batch.capture(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+        assertEquals(1, batch.getValue().size());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldRetryFailedBatchRowByRow() throws IOException {
+        // Given
+        when(jdbcTemplate.batchUpdate(anyString(), any(Collection.class), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new DataIntegrityViolationException("batch failed"));
+        when(jdbcTemplate.update(anyString(), any(PreparedStatementSetter.class)))
+                .thenReturn(1)
+                .thenThrow(new DataIntegrityViolationException("value too long"));
+        String body = product("P1", 10.0) + "\n" + product("P2", 20.0) + "\n";
+
+        // When
+        ImportReport report = productImportService.importProducts(stream(body), ProductFileFormat.NDJSON);
+
+        // Then
+        assertEquals(1, report.imported());
+        assertEquals(1, report.failed());
+        assertEquals(2, report.errors().getFirst().line());
+        assertEquals("value too long", report.errors().getFirst().message());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldNotCountSupersededRow_WhenItsReplacementFails() throws IOException {
+        // Given
+        when(jdbcTemplate.batchUpdate(anyString(), any(Collection.class), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new DataIntegrityViolationException("batch failed"));
+        when(jdbcTemplate.update(anyString(), any(PreparedStatementSetter.class)))
+                .thenThrow(new DataIntegrityViolationException("value too long"));
+        String body = product("P1", 10.0) + "\n" + product("P1", 20.0) + "\n";
+
+        // When
+        ImportReport report = productImportService.importProducts(stream(body), ProductFileFormat.NDJSON);
+
+        // Then
+        assertEquals(2, report.rows());
+        assertEquals(0, report.imported());
+        assertEquals(1, report.failed());
+        assertEquals(2, report.errors().getFirst().line());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void shouldRejectCsvWithUnexpectedHeader() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () ->
+                productImportService.importProducts(stream("code,name\nP1,Name\n"), ProductFileFormat.CSV));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void shouldReportPartialImport_WhenCsvBreaksMidStream() throws IOException {
+        // Given
+        String body = CSV_HEADER
+                + "P1,First,Desc,img.jpg,Electronics,10.0,1,REF-1,1,INSTOCK,4\n"
+                + "P2,Second,\"Unterminated,img.jpg,Electronics,12.5,2,REF-2,1,INSTOCK,5\n";
+
+        // When
+        ImportReport report = productImportService.importProducts(stream(body), ProductFileFormat.CSV);
+
+        // Then
+        assertEquals(1, report.rows());
+        assertEquals(1, report.imported());
+        assertEquals(1, report.failed());
+        assertTrue(report.aborted());
+        assertTrue(report.errors().getFirst().message().contains("Unterminated quoted field"));
+        verify(eventPublisher).publishEvent(any(ProductChangedEvent.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldPublishBulkChange_WhenLaterBatchFails() {
+        // Given
+        when(jdbcTemplate.batchUpdate(anyString(), any(Collection.class), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class)))
+                .thenReturn(new int[][]{{1, 1}})
+                .thenThrow(new IllegalStateException("connection lost"));
+        String body = product("P1", 10.0) + "\n" + product("P2", 20.0) + "\n" + product("P3", 30.0) + "\n";
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () ->
+                productImportService.importProducts(stream(body), ProductFileFormat.NDJSON));
+        verify(eventPublisher).publishEvent(any(ProductChangedEvent.class));
+    }
+
+    private static String product(String code, double price) {
+        return """
+                {"code":"%s","name":"Name","description":"Desc","image":"img.jpg","category":"Electronics",\
+                "price":%s,"quantity":1,"internalReference":"REF","shellId":1,"inventoryStatus":"INSTOCK","rating":4}\
+                """.formatted(code, price);
+    }
+
+    private static InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
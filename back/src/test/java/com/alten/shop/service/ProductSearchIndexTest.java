@@ -0,0 +1,263 @@
+package com.alten.shop.service;
+
+import com.alten.shop.dto.response.ProductResponse;
+import com.alten.shop.entity.Product;
+import com.alten.shop.event.ProductChangedEvent;
+import com.alten.shop.exception.ServiceUnavailableException;
+import com.alten.shop.repository.ProductRepository;
+import com.alten.shop.repository.ProductSortField;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProductSearchIndexTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private final Map<Long, ProductResponse> stored = new HashMap<>();
+
+    private ProductSearchIndex searchIndex;
+
+    @BeforeEach
+    void seed() {
+        searchIndex = new ProductSearchIndex(productRepository, new StoredProducts(), true);
+        index(
+                product(1L, "WIRE-01", "Wireless Headphones", "Noise cancelling over-ear headphones", "Electronics", 199.0),
+                product(2L, "CABLE-02", "USB Cable", "Braided wire, two metres", "Electronics", 9.0),
+                product(3L, "TEE-03", "Cotton T-shirt", "Soft organic cotton", "Clothing", 19.0),
+                product(4L, "HEAD-04", "Headphone Stand", "Holds any pair of headphones", "Accessories", 29.0),
+                product(5L, "CAFE-05", "Café Crème Mug", "Ceramic mug for coffee", "Kitchen", 12.0));
+    }
+
+    private void index(ProductResponse... products) {
+        for (ProductResponse product : products) {
+            stored.put(product.id(), product);
+        }
+        searchIndex.replaceAll(List.of(products));
+    }
+
+    // Page hits are read back through the product cache; this one answers from the seeded products
+    private class StoredProducts extends ProductCache {
+        StoredProducts() {
+            super(productRepository, new SimpleMeterRegistry(), false, 0, Duration.ZERO);
+        }
+
+        @Override
+        public Map<Long, ProductResponse> getAll(Collection<Long> ids) {
+            Map<Long, ProductResponse> found = new HashMap<>();
+            ids.stream().filter(stored::containsKey).forEach(id -> found.put(id, stored.get(id)));
+            return found;
+        }
+    }
+
+    private static ProductResponse product(Long id, String code, String name, String description,
+                                           String category, Double price) {
+        return new ProductResponse(id, code, name, description, "image.jpg", category, price, 10,
+                "REF-" + id, 1L, Product.InventoryStatus.INSTOCK, 4, LocalDateTime.now(), LocalDateTime.now());
+    }
+
+    private List<Long> search(String query) {
+        return ids(searchIndex.search(query, Optional.empty(), Optional.empty(), Optional.empty(), PageRequest.of(0, 10)));
+    }
+
+    private static List<Long> ids(Page<ProductResponse> page) {
+        return page.getContent().stream().map(ProductResponse::id).toList();
+    }
+
+    @Test
+    void shouldRankNameMatchesAboveDescriptionMatches() {
+        assertEquals(List.of(1L, 4L), search("headphones"));
+    }
+
+    @Test
+    void shouldRequireEveryTermAndExpandTheLastOneAsPrefix() {
+        assertEquals(List.of(1L), search("noise head"));
+        assertEquals(List.of(1L, 2L), search("wire"));
+    }
+
+    @Test
+    void shouldMatchCodesCategoriesAndAccentFoldedText() {
+        assertEquals(List.of(2L), search("cable-02"));
+        assertEquals(List.of(3L), search("clothing"));
+        assertEquals(List.of(5L), search("CAFE CREME"));
+    }
+
+    @Test
+    void shouldApplyCategoryAndPriceAsPostFilters() {
+        // When
+        Page<ProductResponse> page = searchIndex.search("headphones", Optional.of("Accessories"),
+                Optional.empty(), Optional.empty(), PageRequest.of(0, 10));
+        Page<ProductResponse> cheap = searchIndex.search("wire", Optional.empty(),
+                Optional.empty(), Optional.of(50.0), PageRequest.of(0, 10));
+
+        // Then
+        assertEquals(List.of(4L), ids(page));
+        assertEquals(1, page.getTotalElements());
+        assertEquals(List.of(2L), ids(cheap));
+    }
+
+    @Test
+    void shouldPageRankedHits() {
+        // When
+        Page<ProductResponse> page = searchIndex.search("headphones", Optional.empty(), Optional.empty(),
+                Optional.empty(), PageRequest.of(1, 1));
+
+        // Then
+        assertEquals(List.of(4L), ids(page));
+        assertEquals(2, page.getTotalElements());
+    }
+
+    @Test
+    void shouldFollowProductWrites() {
+        // When
+        stored.put(3L, product(3L, "TEE-03", "Linen Shirt", "Light summer linen", "Clothing", 39.0));
+        searchIndex.put(stored.get(3L));
+        searchIndex.onProductChanged(ProductChangedEvent.deleted(4L, "Accessories"));
+
+        // Then
+        assertEquals(List.of(), search("cotton"));
+        assertEquals(List.of(3L), search("linen"));
+        assertEquals(List.of(1L), search("headphones"));
+    }
+
+    @Test
+    void shouldReindexUpdatedProductsFromRepository() {
+        // Given
+        Product updated = new Product();
+        updated.setId(2L);
+        updated.setCode("CABLE-02");
+        updated.setName("Lightning Cable");
+        updated.setCategory("Electronics");
+        updated.setPrice(9.0);
+        when(productRepository.findById(2L)).thenReturn(Optional.of(updated));
+
+        // When
+        searchIndex.onProductChanged(ProductChangedEvent.updated(2L, "Electronics", "Electronics"));
+
+        // Then
+        assertEquals(List.of(2L), search("lightning"));
+        assertEquals(List.of(1L), search("wire"));
+    }
+
+    @Test
+    void shouldRejectQueriesWithoutTerms() {
+        assertThrows(IllegalArgumentException.class, () -> search("-- !!"));
+    }
+
+    @Test
+    void shouldBeUnavailableUntilLoaded() {
+        ProductSearchIndex empty = new ProductSearchIndex(productRepository, new StoredProducts(), true);
+
+        assertThrows(ServiceUnavailableException.class, () -> empty.search("mug", Optional.empty(),
+                Optional.empty(), Optional.empty(), PageRequest.of(0, 10)));
+    }
+
+    @Test
+    void shouldNeitherLoadNorSearch_WhenDisabled() {
+        // Given
+        ProductSearchIndex disabled = new ProductSearchIndex(productRepository, new StoredProducts(), false);
+
+        // When
+        disabled.load();
+
+        // Then
+        verifyNoInteractions(productRepository);
+        assertThrows(ServiceUnavailableException.class, () -> disabled.search("mug", Optional.empty(),
+                Optional.empty(), Optional.empty(), PageRequest.of(0, 10)));
+    }
+
+    @Test
+    void shouldCompactWithoutLosingLiveProducts() {
+        // Given
+        for (int i = 0; i < 1100; i++) {
+            searchIndex.put(stored.get(5L));
+        }
+
+        // When
+        List<Long> mugs = search("mug");
+
+        // Then
+        assertEquals(List.of(5L), mugs);
+        assertEquals(List.of(1L, 4L), search("headphones"));
+    }
+
+    @Test
+    void shouldApplyEventsReceivedWhileReloading() {
+        // Given
+        Product cable = new Product();
+        cable.setId(2L);
+        cable.setCode("CABLE-02");
+        cable.setName("USB Cable");
+        cable.setCategory("Electronics");
+        Product renamed = new Product();
+        renamed.setId(2L);
+        renamed.setCode("CABLE-02");
+        renamed.setName("Lightning Cable");
+        renamed.setCategory("Electronics");
+        when(productRepository.findAllAfter(any(), eq(ProductSortField.ID), any(), anyInt())).thenAnswer(invocation -> {
+            // The cable is renamed after the batch was read but before the reload swaps it in
+            searchIndex.onProductChanged(ProductChangedEvent.updated(2L, "Electronics", "Electronics"));
+            return List.of(cable);
+        });
+        when(productRepository.findById(2L)).thenReturn(Optional.of(renamed));
+
+        // When
+        searchIndex.load();
+
+        // Then
+        assertEquals(List.of(2L), search("lightning"));
+        assertEquals(List.of(), search("usb"));
+    }
+
+    @Test
+    void shouldRebuildInBackground_AfterBulkWrite() {
+        // Given
+        List<Runnable> rebuilds = new ArrayList<>();
+        ProductSearchIndex deferred = new ProductSearchIndex(productRepository, new StoredProducts(), true,
+                rebuilds::add);
+        Product lamp = new Product();
+        lamp.setId(9L);
+        lamp.setCode("LAMP-09");
+        lamp.setName("Desk Lamp");
+        lamp.setCategory("Home");
+
+        // When
+        deferred.onProductChanged(ProductChangedEvent.bulk());
+
+        // Then
+        verifyNoInteractions(productRepository);
+
+        // When
+        when(productRepository.findAllAfter(any(), eq(ProductSortField.ID), any(), anyInt())).thenReturn(List.of(lamp));
+        stored.put(9L, ProductResponse.fromEntity(lamp));
+        rebuilds.forEach(Runnable::run);
+
+        // Then
+        assertEquals(List.of(9L), ids(deferred.search("lamp", Optional.empty(), Optional.empty(), Optional.empty(),
+                PageRequest.of(0, 10))));
+    }
+}
@@ -1,25 +1,48 @@
 package com.alten.shop.service;
 
+import com.alten.shop.dto.response.CursorPage;
+import com.alten.shop.dto.response.ProductLookupResponse;
+import com.alten.shop.dto.response.ProductPageResponse;
 import com.alten.shop.dto.response.ProductResponse;
 import com.alten.shop.entity.Product;
+import com.alten.shop.event.ProductChangedEvent;
+import com.alten.shop.repository.ProductCursor;
 import com.alten.shop.repository.ProductRepository;
+import com.alten.shop.repository.ProductSortField;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,18 +51,39 @@ class ProductServiceTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private ProductCountEstimator productCountEstimator;
+
+    @Mock
+    private CatalogIndex catalogIndex;
+
+    @Mock
+    private ProductSearchIndex productSearchIndex;
+
+    @Mock
+    private ProductCache productCache;
+
+    @Spy
+    private CatalogReadCoalescer readCoalescer =
+            new CatalogReadCoalescer(new SimpleMeterRegistry(), true, Duration.ofSeconds(1));
+
+    @Mock
+    private CatalogVersion catalogVersion;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ProductService productService;
 
     @Test
     void shouldReturnProductsWithFilters() {
         // Given
-        Product product = new Product();
-        product.setId(1L);
-        product.setName("Test Product");
+        ProductResponse product = new ProductResponse(
+                1L, null, "Test Product", null, null, null, null, null, null, null, null, null, null, null);
 
-        Page<Product> expectedPage = new PageImpl<>(Arrays.asList(product));
-        when(productRepository.findAll(any(Specification.class), any(Pageable.class)))
+        Page<ProductResponse> expectedPage = new PageImpl<>(Arrays.asList(product));
+        when(productRepository.findSummaries(any(Specification.class), any(Pageable.class)))
                 .thenReturn(expectedPage);
 
         // When
@@ -53,7 +97,171 @@ class ProductServiceTest {
         // Then
         assertNotNull(result);
         assertEquals(1, result.getContent().size());
-        verify(productRepository).findAll(any(Specification.class), any(Pageable.class));
+        verify(productRepository).findSummaries(any(Specification.class), any(Pageable.class));
+    }
+
+    @Test
+    void shouldReturnCursorPageWithNextCursor_WhenMoreRowsExist() {
+        // Given
+        Product first = new Product();
+        first.setId(1L);
+        first.setName("Alpha");
+        Product second = new Product();
+        second.setId(2L);
+        second.setName("Bravo");
+        when(productRepository.findAllAfter(any(Specification.class), eq(ProductSortField.NAME), isNull(), eq(2)))
+                .thenReturn(List.of(first, second));
+
+        // When
+        CursorPage<ProductResponse> result = productService.getProductsAfter(
+                Optional.empty(), Optional.empty(), Optional.empty(), "name", "", 1);
+
+        // Then
+        assertEquals(1, result.content().size());
+        assertTrue(result.hasNext());
+        ProductCursor next = ProductCursor.decode(result.nextCursor(), ProductSortField.NAME);
+        assertEquals("Alpha", next.value());
+        assertEquals(1L, next.id());
+    }
+
+    @Test
+    void shouldRejectCursorIssuedForAnotherSort() {
+        // Given
+        Product product = new Product();
+        product.setId(7L);
+        product.setPrice(9.5);
+        String priceCursor = ProductCursor.of(ProductSortField.PRICE, product).encode();
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> productService.getProductsAfter(
+                Optional.empty(), Optional.empty(), Optional.empty(), "name", priceCursor, 10));
+        assertThrows(IllegalArgumentException.class, () -> productService.getProductsAfter(
+                Optional.empty(), Optional.empty(), Optional.empty(), "description", "", 10));
+    }
+
+    @Test
+    void shouldUseEstimatedTotal_WithoutCountQuery() {
+        // Given
+        ProductResponse product = new ProductResponse(
+                1L, null, null, null, null, null, null, null, null, null, null, null, null, null);
+        Pageable pageable = PageRequest.of(0, 1);
+        when(productRepository.findSummarySlice(any(Specification.class), eq(pageable)))
+                .thenReturn(new SliceImpl<>(List.of(product), pageable, true));
+        when(productCountEstimator.estimate(Optional.of("Electronics"), Optional.empty(), Optional.empty()))
+                .thenReturn(1200L);
+
+        // When
+        ProductPageResponse result = productService.getProducts(
+                Optional.of("Electronics"), Optional.empty(), Optional.empty(), pageable, TotalsMode.ESTIMATED);
+
+        // Then
+        assertEquals("estimated", result.totals());
+        assertEquals(1200L, result.totalElements());
+        assertTrue(result.hasNext());
+        verify(productRepository, never()).findSummaries(any(Specification.class), any(Pageable.class));
+    }
+
+    @Test
+    void shouldReturnSliceWithoutTotals() {
+        // Given
+        Pageable pageable = PageRequest.of(2, 10);
+        when(productRepository.findSummarySlice(any(Specification.class), eq(pageable)))
+                .thenReturn(new SliceImpl<>(List.of(), pageable, false));
+
+        // When
+        ProductPageResponse result = productService.getProducts(
+                Optional.empty(), Optional.empty(), Optional.empty(), pageable, TotalsMode.NONE);
+
+        // Then
+        assertEquals("none", result.totals());
+        assertNull(result.totalElements());
+        verifyNoInteractions(productCountEstimator);
+    }
+
+    @Test
+    void shouldGetProductDetailFromProjection() {
+        // Given
+        ProductResponse product = new ProductResponse(
+                1L, "CODE1", "Test Product", "Full description", null, null, null, null, null, null, null, null, null, null);
+        when(productCache.get(1L)).thenReturn(Optional.of(product));
+
+        // When
+        Optional<ProductResponse> result = productService.getProduct(1L);
+
+        // Then
+        assertEquals("Full description", result.orElseThrow().description());
+        verify(productRepository, never()).findById(any());
+        verify(readCoalescer, never()).execute(any(), any());
+    }
+
+    @Test
+    void shouldReadOnlyUpdatedAt_WhenProductIsNotCached() {
+        // Given
+        LocalDateTime updatedAt = LocalDateTime.of(2026, 1, 15, 10, 30);
+        when(productRepository.findUpdatedAtById(1L)).thenReturn(Optional.of(updatedAt));
+
+        // When
+        Optional<LocalDateTime> result = productService.getProductUpdatedAt(1L);
+
+        // Then
+        assertEquals(updatedAt, result.orElseThrow());
+        verify(productCache, never()).get(any());
+        verify(productRepository, never()).findResponseById(any());
+    }
+
+    @Test
+    void shouldServeIndexedPageWithoutCoalescing() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 10);
+        Page<ProductResponse> indexed = new PageImpl<>(List.of(new ProductResponse(
+                1L, null, "Indexed", null, null, null, null, null, null, null, null, null, null, null)), pageable, 1);
+        when(catalogIndex.isAvailable()).thenReturn(true);
+        when(catalogIndex.query(Optional.empty(), Optional.empty(), Optional.empty(), pageable))
+                .thenReturn(Optional.of(indexed));
+
+        // When
+        ProductPageResponse result = productService.getProducts(Optional.empty(), Optional.empty(), Optional.empty(),
+                pageable, TotalsMode.ESTIMATED);
+
+        // Then
+        assertEquals("Indexed", result.content().getFirst().name());
+        verify(readCoalescer, never()).execute(any(), any());
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void shouldResolveIdsInRequestOrderWithNotFoundMarkers() {
+        // Given
+        ProductResponse first = new ProductResponse(
+                1L, "CODE1", "First", null, null, null, null, null, null, null, null, null, null, null);
+        ProductResponse third = new ProductResponse(
+                3L, "CODE3", "Third", null, null, null, null, null, null, null, null, null, null, null);
+        when(productCache.getAll(List.of(3L, 2L, 1L, 3L))).thenReturn(Map.of(1L, first, 3L, third));
+
+        // When
+        List<ProductLookupResponse> result = productService.getProductsByIds(List.of(3L, 2L, 1L, 3L));
+
+        // Then
+        assertEquals(List.of(ProductLookupResponse.found(third), ProductLookupResponse.notFound(2L),
+                ProductLookupResponse.found(first), ProductLookupResponse.found(third)), result);
+    }
+
+    @Test
+    void shouldRejectTooManyIds() {
+        // Given
+        List<Long> ids = LongStream.rangeClosed(1, ProductService.MAX_BATCH_IDS + 1).boxed().toList();
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> productService.getProductsByIds(ids));
+        verifyNoInteractions(productCache);
+    }
+
+    @Test
+    void shouldRejectBlankSearchQuery() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> productService.searchProducts(
+                " ", Optional.empty(), Optional.empty(), Optional.empty(), PageRequest.of(0, 10)));
+        verifyNoInteractions(productSearchIndex);
     }
 
     @Test
@@ -71,5 +279,26 @@ class ProductServiceTest {
         assertNotNull(result);
         assertEquals("New Product", result.name());
         verify(productRepository).save(product);
+        verify(eventPublisher).publishEvent(any(ProductChangedEvent.class));
+    }
+
+    @Test
+    void shouldInvalidateCachedProductOnUpdate() {
+        // Given
+        Product existing = new Product();
+        existing.setId(1L);
+        existing.setCategory("Old");
+        Product details = new Product();
+        details.setName("Renamed");
+        details.setCategory("New");
+        when(productRepository.findById(1L)).thenReturn(Optional.of(existing));
+        when(productRepository.saveAndFlush(existing)).thenReturn(existing);
+
+        // When
+        productService.updateProduct(1L, details);
+
+        // Then
+        verify(productCache).invalidate(1L);
+        verify(eventPublisher).publishEvent(ProductChangedEvent.updated(1L, "Old", "New"));
     }
 }
\ No newline at end of file
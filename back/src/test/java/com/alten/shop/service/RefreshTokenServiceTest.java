@@ -0,0 +1,90 @@
+package com.alten.shop.service;
+
+import com.alten.shop.config.UserPrincipal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RefreshTokenServiceTest {
+
+    private final UserPrincipal principal = new UserPrincipal(1L, "test@test.com", "testuser", "Test", null);
+
+    private RefreshTokenService refreshTokenService;
+
+    @BeforeEach
+    void setUp() {
+        refreshTokenService = new RefreshTokenService(new InMemoryRefreshTokenStore(), Duration.ofDays(1));
+    }
+
+    @Test
+    void shouldRotateRefreshToken() {
+        // Given
+        String issued = refreshTokenService.issue(principal);
+
+        // When
+        RefreshTokenService.RotatedToken rotated = refreshTokenService.rotate(issued);
+
+        // Then
+        assertNotEquals(issued, rotated.refreshToken());
+        assertEquals(1L, rotated.principal().getId());
+        assertNotNull(refreshTokenService.rotate(rotated.refreshToken()));
+    }
+
+    @Test
+    void shouldRevokeFamily_WhenRotatedTokenIsReused() {
+        // Given
+        String issued = refreshTokenService.issue(principal);
+        String next = refreshTokenService.rotate(issued).refreshToken();
+
+        // When
+        assertThrows(BadCredentialsException.class, () -> refreshTokenService.rotate(issued));
+
+        // Then
+        assertThrows(BadCredentialsException.class, () -> refreshTokenService.rotate(next));
+    }
+
+    @Test
+    void shouldRejectUnknownToken() {
+        assertThrows(BadCredentialsException.class, () -> refreshTokenService.rotate("unknown"));
+    }
+
+    @Test
+    void shouldRejectExpiredToken() {
+        // Given
+        RefreshTokenService expiring = new RefreshTokenService(new InMemoryRefreshTokenStore(), Duration.ofMillis(-1));
+        String issued = expiring.issue(principal);
+
+        // When & Then
+        assertThrows(BadCredentialsException.class, () -> expiring.rotate(issued));
+    }
+
+    @Test
+    void shouldRevokeTokenFamily() {
+        // Given
+        String issued = refreshTokenService.issue(principal);
+
+        // When
+        refreshTokenService.revoke(issued);
+
+        // Then
+        assertThrows(BadCredentialsException.class, () -> refreshTokenService.rotate(issued));
+    }
+
+    @Test
+    void shouldKeepOtherFamilies_WhenOneIsRevoked() {
+        // Given
+        String revoked = refreshTokenService.issue(principal);
+        String kept = refreshTokenService.rotate(refreshTokenService.issue(principal)).refreshToken();
+
+        // When
+        refreshTokenService.revoke(revoked);
+
+        // Then
+        assertThrows(BadCredentialsException.class, () -> refreshTokenService.rotate(revoked));
+        assertNotNull(refreshTokenService.rotate(kept));
+    }
+}
@@ -0,0 +1,93 @@
+package com.alten.shop.service;
+
+import com.alten.shop.config.VerifiedToken;
+import com.alten.shop.entity.RevokedToken;
+import com.alten.shop.repository.RevokedTokenRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationServiceTest {
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @InjectMocks
+    private TokenRevocationService tokenRevocationService;
+
+    private VerifiedToken token(String jti, Instant expiration) {
+        return new VerifiedToken("test@test.com", Instant.now(), expiration, Map.of("jti", jti, "uid", 1L));
+    }
+
+    @Test
+    void shouldPersistAndMirrorRevokedToken() {
+        // Given
+        when(revokedTokenRepository.existsById("token-1")).thenReturn(false);
+
+        // When
+        boolean revoked = tokenRevocationService.revoke(token("token-1", Instant.now().plusSeconds(60)));
+
+        // Then
+        assertTrue(revoked);
+        assertTrue(tokenRevocationService.isRevoked("token-1"));
+        assertFalse(tokenRevocationService.isRevoked("token-2"));
+        assertFalse(tokenRevocationService.isRevoked(null));
+        verify(revokedTokenRepository).save(any(RevokedToken.class));
+    }
+
+    @Test
+    void shouldIgnoreExpiredToken() {
+        // When
+        boolean revoked = tokenRevocationService.revoke(token("token-1", Instant.now().minusSeconds(1)));
+
+        // Then
+        assertFalse(revoked);
+        verifyNoInteractions(revokedTokenRepository);
+    }
+
+    @Test
+    void shouldPickUpRevocationsFromOtherNodes_Incrementally() {
+        // Given
+        Instant revokedAt = Instant.now();
+        RevokedToken remote = new RevokedToken("remote", 2L, Instant.now().plusSeconds(60), revokedAt);
+        when(revokedTokenRepository.findActiveRevokedSince(eq(Instant.EPOCH), any(Instant.class)))
+                .thenReturn(List.of(remote));
+        when(revokedTokenRepository.findActiveRevokedSince(eq(revokedAt.minusSeconds(30)), any(Instant.class)))
+                .thenReturn(List.of());
+
+        // When
+        tokenRevocationService.refresh();
+        tokenRevocationService.refresh();
+
+        // Then
+        assertTrue(tokenRevocationService.isRevoked("remote"));
+        verify(revokedTokenRepository, times(2)).findActiveRevokedSince(any(Instant.class), any(Instant.class));
+    }
+
+    @Test
+    void shouldDropMirrorEntries_OnceTokenExpired() {
+        // Given
+        RevokedToken expired = new RevokedToken("expired", 2L, Instant.now().minusSeconds(1), Instant.now().minusSeconds(60));
+        when(revokedTokenRepository.findActiveRevokedSince(any(Instant.class), any(Instant.class)))
+                .thenReturn(List.of(expired));
+
+        // When
+        tokenRevocationService.refresh();
+
+        // Then
+        assertFalse(tokenRevocationService.isRevoked("expired"));
+        assertEquals(0, tokenRevocationService.size());
+    }
+}
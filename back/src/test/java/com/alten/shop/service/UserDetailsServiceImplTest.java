@@ -0,0 +1,103 @@
+package com.alten.shop.service;
+
+import com.alten.shop.config.UserPrincipal;
+import com.alten.shop.entity.User;
+import com.alten.shop.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserDetailsServiceImplTest {
+
+    private static final String EMAIL = "test@test.com";
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserDetailsServiceImpl userDetailsService;
+
+    @BeforeEach
+    void setUp() {
+        userDetailsService = new UserDetailsServiceImpl(
+                userRepository, new SimpleMeterRegistry(), true, 100, Duration.ofMinutes(5));
+    }
+
+    private User createTestUser() {
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("testuser");
+        user.setEmail(EMAIL);
+        user.setFirstname("Test");
+        user.setPassword("encoded");
+        return user;
+    }
+
+    @Test
+    void shouldServeRepeatedLookupsFromCache() {
+        // Given
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(createTestUser()));
+
+        // When
+        UserDetails first = userDetailsService.loadUserByUsername(EMAIL);
+        UserDetails second = userDetailsService.loadUserByUsername(EMAIL);
+
+        // Then
+        assertSame(first, second);
+        assertEquals(1L, ((UserPrincipal) first).getId());
+        verify(userRepository, times(1)).findByEmail(EMAIL);
+        assertEquals(1, userDetailsService.cacheStats().hitCount());
+        assertEquals(1, userDetailsService.cacheStats().missCount());
+    }
+
+    @Test
+    void shouldReloadAfterEviction() {
+        // Given
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(createTestUser()));
+        userDetailsService.loadUserByUsername(EMAIL);
+
+        // When
+        userDetailsService.evictUser(EMAIL);
+        userDetailsService.loadUserByUsername(EMAIL);
+
+        // Then
+        verify(userRepository, times(2)).findByEmail(EMAIL);
+    }
+
+    @Test
+    void shouldNotCacheUnknownUsers() {
+        // Given
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(UsernameNotFoundException.class, () -> userDetailsService.loadUserByUsername(EMAIL));
+        assertThrows(UsernameNotFoundException.class, () -> userDetailsService.loadUserByUsername(EMAIL));
+        verify(userRepository, times(2)).findByEmail(EMAIL);
+    }
+
+    @Test
+    void shouldQueryRepositoryEveryTime_WhenCacheDisabled() {
+        // Given
+        UserDetailsServiceImpl uncached = new UserDetailsServiceImpl(
+                userRepository, new SimpleMeterRegistry(), false, 100, Duration.ofMinutes(5));
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(createTestUser()));
+
+        // When
+        uncached.loadUserByUsername(EMAIL);
+        uncached.loadUserByUsername(EMAIL);
+
+        // Then
+        verify(userRepository, times(2)).findByEmail(EMAIL);
+    }
+}
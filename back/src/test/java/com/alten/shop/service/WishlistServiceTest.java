@@ -1,11 +1,13 @@
 package com.alten.shop.service;
 
+import com.alten.shop.dto.response.ProductResponse;
 import com.alten.shop.dto.response.WishlistResponse;
 import com.alten.shop.entity.Product;
 import com.alten.shop.entity.User;
 import com.alten.shop.entity.Wishlist;
 import com.alten.shop.repository.ProductRepository;
 import com.alten.shop.repository.UserRepository;
+import com.alten.shop.repository.WishlistProductRow;
 import com.alten.shop.repository.WishlistRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -15,6 +17,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDateTime;
 import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
@@ -34,6 +38,9 @@ class WishlistServiceTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private ProductCache productCache;
+
     @InjectMocks
     private WishlistService wishlistService;
 
@@ -70,14 +77,17 @@ class WishlistServiceTest {
         return wishlist;
     }
 
+    private WishlistProductRow createTestRow(Product product) {
+        return new WishlistProductRow(1L, LocalDateTime.now(), product != null ? product.getId() : null);
+    }
+
     @Test
     void shouldGetWishlistByUserId_WhenWishlistExists() {
         // Given
-        User user = createTestUser();
         Product product = createTestProduct(PRODUCT_ID);
-        Wishlist wishlist = createTestWishlist(user, new LinkedHashSet<>(java.util.List.of(product)));
 
-        when(wishlistRepository.findByUserId(USER_ID)).thenReturn(Optional.of(wishlist));
+        when(wishlistRepository.findProductRowsByUserId(USER_ID)).thenReturn(java.util.List.of(createTestRow(product)));
+        when(productCache.getAll(List.of(PRODUCT_ID))).thenReturn(Map.of(PRODUCT_ID, ProductResponse.fromEntity(product)));
 
         // When
         WishlistResponse result = wishlistService.getWishlistByUserId(USER_ID);
@@ -86,7 +96,9 @@ class WishlistServiceTest {
         assertNotNull(result);
         assertEquals(1, result.products().size());
         assertEquals("Test Product 1", result.products().get(0).name());
-        verify(wishlistRepository).findByUserId(USER_ID);
+        verify(wishlistRepository).findProductRowsByUserId(USER_ID);
+        verify(productRepository, never()).findById(any());
+        verify(wishlistRepository, never()).findByUserId(any());
         verify(wishlistRepository, never()).save(any(Wishlist.class));
     }
 
@@ -96,7 +108,7 @@ class WishlistServiceTest {
         User user = createTestUser();
         Wishlist newWishlist = createTestWishlist(user, new LinkedHashSet<>());
 
-        when(wishlistRepository.findByUserId(USER_ID)).thenReturn(Optional.empty());
+        when(wishlistRepository.findProductRowsByUserId(USER_ID)).thenReturn(java.util.List.of());
         when(userRepository.findById(USER_ID)).thenReturn(Optional.of(user));
         when(wishlistRepository.save(any(Wishlist.class))).thenReturn(newWishlist);
 
@@ -106,7 +118,7 @@ class WishlistServiceTest {
         // Then
         assertNotNull(result);
         assertTrue(result.products().isEmpty());
-        verify(wishlistRepository).findByUserId(USER_ID);
+        verify(wishlistRepository).findProductRowsByUserId(USER_ID);
         verify(userRepository).findById(USER_ID);
         verify(wishlistRepository).save(any(Wishlist.class));
     }
@@ -275,29 +287,29 @@ class WishlistServiceTest {
     @Test
     void shouldHandleEmptyWishlist() {
         // Given
-        User user = createTestUser();
-        Wishlist emptyWishlist = createTestWishlist(user, new LinkedHashSet<>());
-
-        when(wishlistRepository.findByUserId(USER_ID)).thenReturn(Optional.of(emptyWishlist));
+        when(wishlistRepository.findProductRowsByUserId(USER_ID)).thenReturn(java.util.List.of(createTestRow(null)));
 
         // When
         WishlistResponse result = wishlistService.getWishlistByUserId(USER_ID);
 
         // Then
         assertNotNull(result);
+        assertEquals(1L, result.id());
         assertTrue(result.products().isEmpty());
-        verify(wishlistRepository).findByUserId(USER_ID);
+        verify(wishlistRepository).findProductRowsByUserId(USER_ID);
+        verify(wishlistRepository, never()).save(any(Wishlist.class));
     }
 
     @Test
     void shouldHandleMultipleProductsInWishlist() {
         // Given
-        User user = createTestUser();
         Product product1 = createTestProduct(PRODUCT_ID);
         Product product2 = createTestProduct(PRODUCT_ID_2);
-        Wishlist wishlist = createTestWishlist(user, new LinkedHashSet<>(java.util.List.of(product1, product2)));
 
-        when(wishlistRepository.findByUserId(USER_ID)).thenReturn(Optional.of(wishlist));
+        when(wishlistRepository.findProductRowsByUserId(USER_ID))
+                .thenReturn(java.util.List.of(createTestRow(product1), createTestRow(product2)));
+        when(productCache.getAll(List.of(PRODUCT_ID, PRODUCT_ID_2))).thenReturn(Map.of(
+                PRODUCT_ID, ProductResponse.fromEntity(product1), PRODUCT_ID_2, ProductResponse.fromEntity(product2)));
 
         // When
         WishlistResponse result = wishlistService.getWishlistByUserId(USER_ID);
@@ -307,13 +319,13 @@ class WishlistServiceTest {
         assertEquals(2, result.products().size());
         assertEquals(PRODUCT_ID, result.products().get(0).id());
         assertEquals(PRODUCT_ID_2, result.products().get(1).id());
-        verify(wishlistRepository).findByUserId(USER_ID);
+        verify(wishlistRepository).findProductRowsByUserId(USER_ID);
     }
 
     @Test
     void shouldThrowException_WhenUserNotFoundForNewWishlist() {
         // Given
-        when(wishlistRepository.findByUserId(USER_ID)).thenReturn(Optional.empty());
+        when(wishlistRepository.findProductRowsByUserId(USER_ID)).thenReturn(java.util.List.of());
         when(userRepository.findById(USER_ID)).thenReturn(Optional.empty());
 
         // When & Then
@@ -321,7 +333,7 @@ class WishlistServiceTest {
                 () -> wishlistService.getWishlistByUserId(USER_ID));
 
         assertEquals("User not found", exception.getMessage());
-        verify(wishlistRepository).findByUserId(USER_ID);
+        verify(wishlistRepository).findProductRowsByUserId(USER_ID);
         verify(userRepository).findById(USER_ID);
         verify(wishlistRepository, never()).save(any(Wishlist.class));
     }
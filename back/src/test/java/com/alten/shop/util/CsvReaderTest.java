@@ -0,0 +1,47 @@
+package com.alten.shop.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvReaderTest {
+
+    @Test
+    void shouldReadPlainRecords() throws IOException {
+        // Given
+        CsvReader reader = new CsvReader(new StringReader("a,b,c\r\n1,,3\n"));
+
+        // When & Then
+        assertEquals(List.of("a", "b", "c"), reader.readRecord());
+        assertEquals(1, reader.getRecordLine());
+        assertEquals(List.of("1", "", "3"), reader.readRecord());
+        assertEquals(2, reader.getRecordLine());
+        assertNull(reader.readRecord());
+    }
+
+    @Test
+    void shouldUnquoteFieldsWithSeparatorsQuotesAndLineBreaks() throws IOException {
+        // Given
+        CsvReader reader = new CsvReader(new StringReader("\"a,b\",\"say \"\"hi\"\"\",\"two\nlines\"\nnext,row,here"));
+
+        // When & Then
+        assertEquals(List.of("a,b", "say \"hi\"", "two\nlines"), reader.readRecord());
+        assertEquals(List.of("next", "row", "here"), reader.readRecord());
+        assertEquals(3, reader.getRecordLine());
+        assertNull(reader.readRecord());
+    }
+
+    @Test
+    void shouldRejectUnterminatedQuotedField() throws IOException {
+        // Given
+        CsvReader reader = new CsvReader(new StringReader("ok\n\"never closed,x\n"));
+        reader.readRecord();
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, reader::readRecord);
+    }
+}
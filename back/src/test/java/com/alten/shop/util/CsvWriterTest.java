@@ -0,0 +1,40 @@
+package com.alten.shop.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvWriterTest {
+
+    @Test
+    void shouldQuoteOnlyFieldsThatNeedIt() throws IOException {
+        // Given
+        StringWriter output = new StringWriter();
+        CsvWriter writer = new CsvWriter(output);
+
+        // When
+        writer.writeRecord(Arrays.asList("plain", 12.5, null, "a,b", "say \"hi\"", "two\nlines"));
+
+        // Then
+        assertEquals("plain,12.5,,\"a,b\",\"say \"\"hi\"\"\",\"two\nlines\"\r\n", output.toString());
+    }
+
+    @Test
+    void shouldRoundTripThroughCsvReader() throws IOException {
+        // Given
+        List<String> record = List.of("code", "Desc, with \"quotes\"\nand a line break", "");
+        StringWriter output = new StringWriter();
+
+        // When
+        new CsvWriter(output).writeRecord(record);
+
+        // Then
+        assertEquals(record, new CsvReader(new StringReader(output.toString())).readRecord());
+    }
+}
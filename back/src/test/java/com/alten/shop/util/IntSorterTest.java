@@ -0,0 +1,61 @@
+package com.alten.shop.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntSorterTest {
+
+    @Test
+    void shouldSortLikeBoxedSort() {
+        // Given
+        SplittableRandom random = new SplittableRandom(7);
+        int[] keys = random.ints(1000, 0, 50).toArray();
+        int[] positions = IntStream.range(0, keys.length).toArray();
+        Integer[] expected = IntStream.range(0, keys.length).boxed().toArray(Integer[]::new);
+        Arrays.sort(expected, Comparator.comparingInt(position -> keys[position]));
+
+        // When
+        IntSorter.sort(positions, (a, b) -> Integer.compare(keys[a], keys[b]));
+
+        // Then
+        assertArrayEquals(Arrays.stream(expected).mapToInt(Integer::intValue).toArray(), positions);
+    }
+
+    @Test
+    void shouldKeepEqualElementsInOriginalOrder() {
+        // Given
+        int[] keys = {3, 1, 3, 1, 2, 3, 1, 2, 2, 1, 3, 2, 1, 3, 2, 1, 3, 2, 1, 3};
+        int[] positions = IntStream.range(0, keys.length).toArray();
+
+        // When
+        IntSorter.sort(positions, (a, b) -> Integer.compare(keys[a], keys[b]));
+
+        // Then
+        for (int i = 1; i < positions.length; i++) {
+            int previous = positions[i - 1];
+            int current = positions[i];
+            assertTrue(keys[previous] < keys[current] || (keys[previous] == keys[current] && previous < current));
+        }
+    }
+
+    @Test
+    void shouldAcceptEmptyAndSingleElementArrays() {
+        // Given
+        int[] empty = {};
+        int[] single = {42};
+
+        // When
+        IntSorter.sort(empty, Integer::compare);
+        IntSorter.sort(single, Integer::compare);
+
+        // Then
+        assertEquals(0, empty.length);
+        assertArrayEquals(new int[]{42}, single);
+    }
+}
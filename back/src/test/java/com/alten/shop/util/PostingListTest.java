@@ -0,0 +1,57 @@
+package com.alten.shop.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PostingListTest {
+
+    @Test
+    void shouldReadBackPostingsInOrder() {
+        // Given
+        PostingList list = new PostingList();
+        int[] docs = {0, 1, 127, 128, 16_384, 2_000_000};
+        for (int i = 0; i < docs.length; i++) {
+            list.add(docs[i], i + 1);
+        }
+
+        // When
+        PostingList.Cursor cursor = list.cursor();
+
+        // Then
+        for (int i = 0; i < docs.length; i++) {
+            assertTrue(cursor.next());
+            assertEquals(docs[i], cursor.doc());
+            assertEquals(i + 1, cursor.frequency());
+        }
+        assertFalse(cursor.next());
+        assertEquals(docs.length, list.size());
+        assertEquals(2_000_000, list.lastDoc());
+    }
+
+    @Test
+    void shouldStoreDenseDocGapsInTwoBytesPerPosting() {
+        // Given
+        PostingList list = new PostingList();
+
+        // When
+        for (int doc = 0; doc < 10_000; doc += 3) {
+            list.add(doc, 1);
+        }
+        list.trimToSize();
+
+        // Then
+        assertEquals(list.size() * 2, list.sizeInBytes());
+    }
+
+    @Test
+    void shouldRejectOutOfOrderDocs() {
+        // Given
+        PostingList list = new PostingList();
+        list.add(5, 1);
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> list.add(5, 1));
+        assertThrows(IllegalArgumentException.class, () -> list.add(6, 0));
+    }
+}
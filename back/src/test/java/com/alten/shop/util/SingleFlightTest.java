@@ -0,0 +1,134 @@
+package com.alten.shop.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private static final Duration WAIT = Duration.ofSeconds(5);
+
+    @Test
+    void shouldShareOneLoadBetweenConcurrentCallers() throws Exception {
+        // Given
+        SingleFlight<String, Integer> flight = new SingleFlight<>();
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            // When
+            Future<Integer> leader = executor.submit(() -> flight.execute("key", () -> {
+                loads.incrementAndGet();
+                loading.countDown();
+                await(release);
+                return 42;
+            }, WAIT));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            Future<Integer> follower1 = executor.submit(() -> flight.execute("key", loads::incrementAndGet, WAIT));
+            Future<Integer> follower2 = executor.submit(() -> flight.execute("key", loads::incrementAndGet, WAIT));
+            while (flight.collapsedCount() < 2) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            // Then
+            assertEquals(42, leader.get());
+            assertEquals(42, follower1.get());
+            assertEquals(42, follower2.get());
+            assertEquals(1, loads.get());
+            assertEquals(0, flight.inFlightCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldRunAgainOnceThePreviousLoadHasFinished() throws Exception {
+        // Given
+        SingleFlight<String, Integer> flight = new SingleFlight<>();
+        AtomicInteger loads = new AtomicInteger();
+
+        // When
+        flight.execute("key", loads::incrementAndGet, WAIT);
+        int second = flight.execute("key", loads::incrementAndGet, WAIT);
+
+        // Then
+        assertEquals(2, second);
+        assertEquals(0, flight.collapsedCount());
+    }
+
+    @Test
+    void shouldHandLeadersExceptionToWaiters() throws Exception {
+        // Given
+        SingleFlight<String, Integer> flight = new SingleFlight<>();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            // When
+            Future<Integer> leader = executor.submit(() -> flight.execute("key", () -> {
+                loading.countDown();
+                await(release);
+                throw new IllegalStateException("database down");
+            }, WAIT));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            Future<Integer> follower = executor.submit(() -> flight.execute("key", () -> 1, WAIT));
+            while (flight.collapsedCount() < 1) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            // Then
+            Exception leaderFailure = assertThrows(Exception.class, leader::get);
+            Exception followerFailure = assertThrows(Exception.class, follower::get);
+            assertInstanceOf(IllegalStateException.class, leaderFailure.getCause());
+            assertEquals("database down", followerFailure.getCause().getMessage());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldStopWaitingAfterMaxWait() throws Exception {
+        // Given
+        SingleFlight<String, Integer> flight = new SingleFlight<>();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            executor.submit(() -> flight.execute("key", () -> {
+                loading.countDown();
+                await(release);
+                return 1;
+            }, WAIT));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+            // When & Then
+            assertThrows(TimeoutException.class, () -> flight.execute("key", () -> 2, Duration.ofMillis(20)));
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
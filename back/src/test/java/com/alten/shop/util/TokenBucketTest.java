@@ -0,0 +1,58 @@
+package com.alten.shop.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void shouldAllowBurstUpToCapacity() {
+        // Given
+        TokenBucket bucket = new TokenBucket(3, SECOND, 0);
+
+        // When & Then
+        assertEquals(2, bucket.tryAcquire(0));
+        assertEquals(1, bucket.tryAcquire(0));
+        assertEquals(0, bucket.tryAcquire(0));
+        assertTrue(bucket.tryAcquire(0) < 0);
+    }
+
+    @Test
+    void shouldReportWaitUntilNextToken() {
+        // Given
+        TokenBucket bucket = new TokenBucket(2, SECOND, 0);
+        bucket.tryAcquire(0);
+        bucket.tryAcquire(0);
+
+        // When
+        long result = bucket.tryAcquire(0);
+
+        // Then
+        assertEquals(SECOND / 2, -(result + 1));
+    }
+
+    @Test
+    void shouldRefillOverTime() {
+        // Given
+        TokenBucket bucket = new TokenBucket(2, SECOND, 0);
+        bucket.tryAcquire(0);
+        bucket.tryAcquire(0);
+
+        // When & Then
+        assertTrue(bucket.tryAcquire(SECOND / 4) < 0);
+        assertEquals(0, bucket.tryAcquire(SECOND / 2));
+        assertFalse(bucket.isFull(SECOND / 2));
+        assertTrue(bucket.isFull(2 * SECOND));
+        assertEquals(1, bucket.tryAcquire(2 * SECOND));
+    }
+
+    @Test
+    void shouldRejectInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0, SECOND, 0));
+    }
+}